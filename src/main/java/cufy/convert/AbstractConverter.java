@@ -15,13 +15,19 @@
  */
 package cufy.convert;
 
+import cufy.lang.Clazz;
 import cufy.meta.Filter;
 import cufy.util.*;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract class for converter classes. Used to simplify the conversion processes and make it more inheritable. Also making the inheriting for
@@ -35,31 +41,222 @@ import java.util.Objects;
  */
 public abstract class AbstractConverter implements Converter {
 	/**
-	 * The converting methods of this class.
+	 * The method type of the {@link ConvertMethod} handles.
 	 */
-	protected final Group<Method> methods = Collectionz.unmodifiableGroup(new HashGroup<>(Reflection.getAllMethods(this.getClass())));
+	private static final MethodType CONVERT_TYPE = MethodType.methodType(void.class, AbstractConverter.class, ConvertToken.class);
+
+	/**
+	 * The converting methods of each class. Looked up once per class from the dispatch table generated for it at build time (or scanned if it has no
+	 * table). Then shared between all the instances of that class.
+	 *
+	 * @see Reflection#getDispatchTable(Class)
+	 */
+	private static final ClassValue<Group<Method>> DYNAMIC_METHODS = new ClassValue<Group<Method>>() {
+		@Override
+		protected Group<Method> computeValue(Class<?> type) {
+			return AbstractConverter.dynamicMethods(type, false);
+		}
+	};
+	/**
+	 * If each class overrides any of the hooks that take or return a bare {@link Method}. ({@link #getConvertMethod(Class, Class)} or {@link
+	 * #convert0(Method, ConvertToken)})
+	 */
+	private static final ClassValue<Boolean> HOOKED = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class klass = type; klass != AbstractConverter.class; klass = klass.getSuperclass())
+				if (AbstractConverter.declares(klass, "getConvertMethod", Class.class, Class.class) ||
+					AbstractConverter.declares(klass, "convert0", Method.class, ConvertToken.class))
+					return true;
+
+			return false;
+		}
+	};
+	/**
+	 * The methods of each class. Scanned once per class (the first time the methods of the class are accessed). Then shared between all the instances
+	 * of that class.
+	 *
+	 * @see Reflection#getAllMethods(Class)
+	 */
+	private static final ClassValue<Group<Method>> METHODS = new ClassValue<Group<Method>>() {
+		@Override
+		protected Group<Method> computeValue(Class<?> type) {
+			return Collectionz.unmodifiableGroup(new HashGroup<>(Reflection.getAllMethods(type)));
+		}
+	};
+	/**
+	 * The converting methods of each class. Like {@link #DYNAMIC_METHODS}. But the dispatch table of the class is verified against the methods the
+	 * classes declare. (used by the converters in a debugging mode)
+	 *
+	 * @see Reflection#getDispatchTable(Class, boolean)
+	 */
+	private static final ClassValue<Group<Method>> VERIFIED_DYNAMIC_METHODS = new ClassValue<Group<Method>>() {
+		@Override
+		protected Group<Method> computeValue(Class<?> type) {
+			return AbstractConverter.dynamicMethods(type, true);
+		}
+	};
+
+	/**
+	 * The converting methods of this class. Only the methods annotated with {@link ConvertMethod}. (shared between all the instances of this class)
+	 */
+	protected final Group<Method> dynamicMethods;
+	/**
+	 * The methods of this class. (scanned the first time it is accessed)
+	 */
+	protected final Group<Method> methods = new LazyGroup<>(() -> METHODS.get(this.getClass()));
+	/**
+	 * The cache of the results of the conversions of immutable inputs. (null to disable caching)
+	 */
+	protected volatile ConvertCache cache;
+	/**
+	 * The converting method resolved for each input class and output class (empty if there is no method for them). A class value of the input
+	 * classes. So, the input classes (and their loaders) are not held by this.
+	 */
+	protected final ClassValue<Map<Class, Optional<DynamicMethod>>> convertMethodCache = new ClassValue<Map<Class, Optional<DynamicMethod>>>() {
+		@Override
+		protected Map<Class, Optional<DynamicMethod>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+	/**
+	 * The handle resolved for each converting method invoked by this.
+	 */
+	protected final Map<Method, DynamicMethod> resolvedMethods = new ConcurrentHashMap<>();
+	/**
+	 * The plan compiled for each input clazz and output clazz.
+	 */
+	protected final Map<Clazz, Map<Clazz, ConvertPlan>> convertPlanCache = new ConcurrentHashMap<>();
+	/**
+	 * The tracer recording the cost of the converting methods of this. (null to disable tracing)
+	 */
+	protected volatile Tracer tracer;
 	/**
 	 * If this class in a debugging mode or not.
 	 * <p>
 	 * Note: if this set to false all null-checks and type-checks should not be executed at runtime.
 	 */
-	protected boolean DEBUGGING = false;
+	protected final boolean DEBUGGING;
+
+	/**
+	 * Construct a new converter that is not in a debugging mode.
+	 */
+	protected AbstractConverter() {
+		this(false);
+	}
+
+	/**
+	 * Construct a new converter.
+	 *
+	 * @param debugging if the new converter should be in a debugging mode
+	 */
+	protected AbstractConverter(boolean debugging) {
+		this.DEBUGGING = debugging;
+		this.dynamicMethods = (debugging ? VERIFIED_DYNAMIC_METHODS : DYNAMIC_METHODS).get(this.getClass());
+	}
 
 	@Override
 	public <I, O> O convert(ConvertToken<I, O> token) {
 		Objects.requireNonNull(token, "token");
 
+		ConvertCache cache = this.cache;
+		//only conversions with no initial output are cacheable
+		boolean cacheable = cache != null && token.output == null && ConvertCache.isImmutable(token.input);
+		//the clazzes could be overridden while converting
+		Clazz inputClazz = token.inputClazz;
+		Clazz outputClazz = token.outputClazz;
+
+		if (cacheable) {
+			Optional<Object> result = cache.get(token.input, inputClazz, outputClazz);
+
+			if (result != null) {
+				token.output = (O) result.orElse(null);
+				return token.output;
+			}
+		}
+
 		if (this.convertPre(token)) {
-			Method method = this.getConvertMethod(token.inputClazz.getFamily(), token.outputClazz.getFamily());
+			if (this.isHooked()) {
+				//through the overridden hooks
+				Method method = this.getConvertMethod(token.inputClazz.getFamily(), token.outputClazz.getFamily());
+
+				if (method == null)
+					this.convertElse(token);
+				else this.convert0(method, token);
+			} else {
+				ConvertPlan plan = token.plan;
+				DynamicMethod method = plan != null && plan.inputClazz == token.inputClazz && plan.outputClazz == token.outputClazz ?
+									   //the plan is still valid (the clazzes were not overridden)
+									   plan.method :
+									   this.resolveConvertMethod(token.inputClazz.getFamily(), token.outputClazz.getFamily());
 
-			if (method == null)
-				this.convertElse(token);
-			else this.convert0(method, token);
+				if (method == null)
+					this.convertElse(token);
+				else this.convert0(method, token);
+			}
 		}
 
+		if (cacheable)
+			cache.put(token.input, inputClazz, outputClazz, token.output);
+
 		return token.output;
 	}
 
+	/**
+	 * Get the plan of converting the given input clazz to the given output clazz. The plan of each pair of clazzes is compiled once. Then cached for
+	 * the next calls.
+	 *
+	 * @param inputClazz  the clazz of the inputs
+	 * @param outputClazz the clazz of the outputs
+	 * @return the plan of converting the given input clazz to the given output clazz
+	 * @throws NullPointerException if any of the given parameters is null
+	 * @see ConvertPlan#convert(Object, Object)
+	 */
+	public ConvertPlan getConvertPlan(Clazz inputClazz, Clazz outputClazz) {
+		Objects.requireNonNull(inputClazz, "inputClazz");
+		Objects.requireNonNull(outputClazz, "outputClazz");
+
+		return this.convertPlanCache.computeIfAbsent(inputClazz, k -> new ConcurrentHashMap<>())
+				.computeIfAbsent(outputClazz, k -> new ConvertPlan(this, inputClazz, outputClazz));
+	}
+
+	/**
+	 * Get the cache of the results of the conversions of immutable inputs.
+	 *
+	 * @return the cache of this. Or null if caching is disabled
+	 */
+	public ConvertCache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Set the cache to hold the results of the conversions of immutable inputs. A conversion is cached only if it has no initial output and both of
+	 * its input and output are immutable (see {@link ConvertCache#isImmutable(Object)}).
+	 *
+	 * @param cache the cache to be set. Or null to disable caching
+	 */
+	public void setCache(ConvertCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the tracer recording the cost of the converting methods of this.
+	 *
+	 * @return the tracer of this. Or null if tracing is disabled
+	 */
+	public Tracer getTracer() {
+		return this.tracer;
+	}
+
+	/**
+	 * Set the tracer to record the cost of the converting methods of this. Tracing costs nothing while disabled.
+	 *
+	 * @param tracer the tracer to be set. Or null to disable tracing
+	 */
+	public void setTracer(Tracer tracer) {
+		this.tracer = tracer;
+	}
+
 	/**
 	 * Get invoked if no conversion method is found for the given token. Meanwhile the input is instance of the outputClazz and the inputClazz is the
 	 * outputClazz.
@@ -79,6 +276,8 @@ public abstract class AbstractConverter implements Converter {
 
 	/**
 	 * Invoke the given {@link ConvertMethod} with the given parameters.
+	 * <p>
+	 * Note: the handle of the given method is resolved once. Then cached for the next calls.
 	 *
 	 * @param method to be invoked
 	 * @param token  the conversion instance that holds the variables of this conversion
@@ -87,21 +286,36 @@ public abstract class AbstractConverter implements Converter {
 	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
 	 */
 	protected void convert0(Method method, ConvertToken token) {
+		Objects.requireNonNull(method, "method");
+		this.convert0(this.resolve(method, CONVERT_TYPE), token);
+	}
+
+	/**
+	 * Invoke the given resolved {@link ConvertMethod} with the given parameters.
+	 *
+	 * @param method to be invoked
+	 * @param token  the conversion instance that holds the variables of this conversion
+	 * @throws ConvertException     if any converting error occurred
+	 * @throws NullPointerException if any of the given parameters is null
+	 */
+	protected void convert0(DynamicMethod method, ConvertToken token) {
 		if (DEBUGGING) {
 			Objects.requireNonNull(method, "method");
 			Objects.requireNonNull(token, "token");
 		}
 
+		Tracer tracer = this.tracer;
+		long start = tracer == null ? 0 : System.nanoTime();
+
 		try {
-			method.setAccessible(true);
-			method.invoke(this, token);
-		} catch (IllegalAccessException e) {
-			throw new IllegalArgumentException(method + " have limited access", e);
-		} catch (InvocationTargetException e) {
-			Throwable cause = e.getCause();
+			method.handle.invokeExact(this, token);
+		} catch (Throwable cause) {
 			if (cause instanceof ConvertException)
 				throw (ConvertException) cause;
 			else throw new ConvertException(cause);
+		} finally {
+			if (tracer != null)
+				tracer.record(method.method, token.outputClazz.getFamily(), System.nanoTime() - start, Tracer.units(token.input));
 		}
 	}
 
@@ -153,21 +367,21 @@ public abstract class AbstractConverter implements Converter {
 	}
 
 	/**
-	 * Find a method that converts the given 'inputClass' to the given 'outputClass'.
+	 * Find a method that converts the given 'inputClass' to the given 'outputClass'. Without using the cache.
 	 *
 	 * @param inputClass  type that the targeted method can except as a parameter
 	 * @param outputClass type that the targeted method can return
-	 * @return a method that can convert the given inputClass to the given outputClass class
+	 * @return a method that can convert the given inputClass to the given outputClass class. Or null if this don't have one
 	 * @throws NullPointerException if any of the given parameters is null
 	 */
-	protected Method getConvertMethod(Class inputClass, Class outputClass) {
+	protected Method findConvertMethod(Class inputClass, Class outputClass) {
 		if (DEBUGGING) {
 			Objects.requireNonNull(inputClass, "inputClass");
 			Objects.requireNonNull(outputClass, "outputClass");
 		}
 
 		//QUERY the best method!
-		Group<Method> valid = this.methods
+		Group<Method> valid = this.dynamicMethods
 				.subGroup(ConvertMethod.class, m -> m.isAnnotationPresent(ConvertMethod.class))
 				.subGroup(Arrayz.asList(inputClass, outputClass), m -> {
 					ConvertMethod ann = m.getAnnotation(ConvertMethod.class);
@@ -195,4 +409,110 @@ public abstract class AbstractConverter implements Converter {
 			return max;
 		}
 	}
+
+	/**
+	 * Get a method that converts the given 'inputClass' to the given 'outputClass'.
+	 * <p>
+	 * Note: the method of each pair of classes is resolved once. Then cached for the next calls.
+	 *
+	 * @param inputClass  type that the targeted method can except as a parameter
+	 * @param outputClass type that the targeted method can return
+	 * @return a method that can convert the given inputClass to the given outputClass class. Or null if this don't have one
+	 * @throws NullPointerException if any of the given parameters is null
+	 * @see #resolveConvertMethod(Class, Class)
+	 */
+	protected Method getConvertMethod(Class inputClass, Class outputClass) {
+		DynamicMethod method = this.resolveConvertMethod(inputClass, outputClass);
+		return method == null ? null : method.method;
+	}
+
+	/**
+	 * Determine if the class of this overrides any of the hooks that take or return a bare {@link Method} (like {@link #getConvertMethod(Class,
+	 * Class)} or {@link #convert0(Method, ConvertToken)}). If so, the dispatch goes through these hooks. Otherwise, the resolved methods are invoked
+	 * directly (without looking them up again by their {@link Method}).
+	 *
+	 * @return true, if the class of this overrides any of the hooks
+	 */
+	protected boolean isHooked() {
+		return HOOKED.get(this.getClass());
+	}
+
+	/**
+	 * Resolve a method that converts the given 'inputClass' to the given 'outputClass'. The method of each pair of classes (and its handle) is
+	 * resolved once. Then cached for the next calls.
+	 *
+	 * @param inputClass  type that the targeted method can except as a parameter
+	 * @param outputClass type that the targeted method can return
+	 * @return the resolved method that can convert the given inputClass to the given outputClass class. Or null if this don't have one
+	 * @throws NullPointerException     if any of the given parameters is null
+	 * @throws IllegalArgumentException if the method have limited access. Or if the method have illegal parameters count
+	 */
+	protected DynamicMethod resolveConvertMethod(Class inputClass, Class outputClass) {
+		Objects.requireNonNull(inputClass, "inputClass");
+		Objects.requireNonNull(outputClass, "outputClass");
+
+		Map<Class, Optional<DynamicMethod>> cache = this.convertMethodCache.get(inputClass);
+		Optional<DynamicMethod> method = cache.get(outputClass);
+
+		if (method == null) {
+			Method found = this.findConvertMethod(inputClass, outputClass);
+			method = Optional.ofNullable(found == null ? null : this.resolve(found, CONVERT_TYPE));
+			cache.put(outputClass, method);
+		}
+
+		return method.orElse(null);
+	}
+
+	/**
+	 * Determine if the given class declares a method with the given name and the given parameter types.
+	 *
+	 * @param klass      the class to be checked
+	 * @param name       the name of the method
+	 * @param parameters the parameter types of the method
+	 * @return true, if the given class declares the method
+	 */
+	private static boolean declares(Class klass, String name, Class... parameters) {
+		try {
+			klass.getDeclaredMethod(name, parameters);
+			return true;
+		} catch (NoSuchMethodException ignored) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get the converting methods of the given class. From its dispatch table. Or from all of its methods if it has no table (or its table is stale).
+	 *
+	 * @param klass  the class to get its converting methods
+	 * @param verify true, to verify the dispatch table of the given class (see {@link Reflection#getDispatchTable(Class, boolean)})
+	 * @return an unmodifiable group of the converting methods of the given class
+	 */
+	private static Group<Method> dynamicMethods(Class klass, boolean verify) {
+		List<Method> table = Reflection.getDispatchTable(klass, verify);
+		List<Method> methods = new ArrayList<>();
+
+		for (Method method : table == null ? METHODS.get(klass) : table)
+			if (method.isAnnotationPresent(ConvertMethod.class))
+				methods.add(method);
+
+		return Collectionz.unmodifiableGroup(new HashGroup<>(methods));
+	}
+
+	/**
+	 * Resolve the given converting method. Adapting its handle to the type of the converting methods. The handle of each method is resolved once.
+	 * Then cached for the next calls.
+	 *
+	 * @param method the method to be resolved
+	 * @param type   the type to adapt the handle of the method to
+	 * @return the resolved method
+	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
+	 */
+	private DynamicMethod resolve(Method method, MethodType type) {
+		DynamicMethod resolved = this.resolvedMethods.get(method);
+
+		if (resolved == null)
+			resolved = this.resolvedMethods.computeIfAbsent(method, m -> new DynamicMethod(m, type));
+
+		return resolved;
+	}
 }
@@ -22,8 +22,19 @@ import cufy.meta.Filter;
 import cufy.meta.Where;
 import cufy.util.Arrayz;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
 
 /**
  * A converter that has a basic converting methods.
@@ -65,6 +76,9 @@ import java.util.*;
  *         </ul>
  *     </li>
  * </ul>
+ * <p>
+ * Note: this converter holds no per-call state (the state of each call is held by its token). So, a single instance (like {@link #global}) can be
+ * shared by any number of threads without synchronization.
  *
  * @author lsafer
  * @version 0.1.5
@@ -78,40 +92,422 @@ public class BaseConverter extends AbstractConverter {
 	public static final BaseConverter global = new BaseConverter();
 
 	/**
-	 * Inherit only.
+	 * The code of the {@link BigDecimal} type in {@link #TYPES}.
+	 */
+	private static final int BIG_DECIMAL = 0;
+	/**
+	 * The code of the {@link BigInteger} type in {@link #TYPES}.
+	 */
+	private static final int BIG_INTEGER = 1;
+	/**
+	 * The code of the boolean type in {@link #TYPES}.
+	 */
+	private static final int BOOLEAN = 2;
+	/**
+	 * The code of the byte type in {@link #TYPES}.
+	 */
+	private static final int BYTE = 3;
+	/**
+	 * The code of the double type in {@link #TYPES}.
+	 */
+	private static final int DOUBLE = 4;
+	/**
+	 * The code of the float type in {@link #TYPES}.
+	 */
+	private static final int FLOAT = 5;
+	/**
+	 * The code of the int type in {@link #TYPES}.
+	 */
+	private static final int INTEGER = 6;
+	/**
+	 * The code of the long type in {@link #TYPES}.
+	 */
+	private static final int LONG = 7;
+	/**
+	 * The code of the short type in {@link #TYPES}.
+	 */
+	private static final int SHORT = 8;
+	/**
+	 * The type of the String converting constructor or 'valueOf(String)' method handles.
+	 */
+	private static final MethodType PARSER_TYPE = MethodType.methodType(Object.class, String.class);
+	/**
+	 * The handle of the 'valueOf(String)' method (or the '(String)' constructor) of each class. (empty if the class has none, or it is not
+	 * accessible)
+	 */
+	private static final ClassValue<Optional<MethodHandle>> PARSERS = new ClassValue<Optional<MethodHandle>>() {
+		@Override
+		protected Optional<MethodHandle> computeValue(Class<?> type) {
+			try {
+				Method method = type.getMethod("valueOf", String.class);
+				method.setAccessible(true);
+				return Optional.of(MethodHandles.lookup().unreflect(method).asType(PARSER_TYPE));
+			} catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+			}
+			try {
+				Constructor constructor = type.getConstructor(String.class);
+				constructor.setAccessible(true);
+				return Optional.of(MethodHandles.lookup().unreflectConstructor(constructor).asType(PARSER_TYPE));
+			} catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {
+			}
+
+			return Optional.empty();
+		}
+	};
+	/**
+	 * The codes of the JDK numeric (and boolean) types. (the primitive types and their wrappers share the same code)
+	 */
+	private static final Map<Class, Integer> TYPES = new IdentityHashMap<>();
+
+	static {
+		TYPES.put(BigDecimal.class, BIG_DECIMAL);
+		TYPES.put(BigInteger.class, BIG_INTEGER);
+		TYPES.put(Boolean.class, BOOLEAN);
+		TYPES.put(boolean.class, BOOLEAN);
+		TYPES.put(Byte.class, BYTE);
+		TYPES.put(byte.class, BYTE);
+		TYPES.put(Double.class, DOUBLE);
+		TYPES.put(double.class, DOUBLE);
+		TYPES.put(Float.class, FLOAT);
+		TYPES.put(float.class, FLOAT);
+		TYPES.put(Integer.class, INTEGER);
+		TYPES.put(int.class, INTEGER);
+		TYPES.put(Long.class, LONG);
+		TYPES.put(long.class, LONG);
+		TYPES.put(Short.class, SHORT);
+		TYPES.put(short.class, SHORT);
+	}
+
+	/**
+	 * If the inputs converted by this are always trees (no cycles). If true, the recursion and deja-vu detection is skipped entirely.
+	 * <p>
+	 * Note: a single conversion can be declared acyclic by putting {@code "acyclic" = true} on the {@link ConvertToken#tree} of its root token.
+	 * Also, a shared (non-cyclic) reference converted in the acyclic mode is converted again at every occurrence.
+	 */
+	protected final boolean ACYCLIC;
+	/**
+	 * The minimum number of elements to convert in parallel. (zero to disable parallel conversion)
+	 * <p>
+	 * Note: elements are converted in parallel ONLY in the acyclic mode (see {@link #ACYCLIC}). Since the recursion and deja-vu detection tables are
+	 * shared by the whole conversion. So, in the default mode, this has no effect. The results are written in order.
+	 */
+	protected final int PARALLEL_THRESHOLD;
+	/**
+	 * The pool to convert elements in parallel on. (null for the common {@link ForkJoinPool})
+	 */
+	protected final ForkJoinPool POOL;
+
+	/**
+	 * Inherit only. (with the default options)
 	 */
 	protected BaseConverter() {
+		this(new Options().setDefaults());
+	}
+
+	/**
+	 * Inherit only. (with the given options)
+	 * <p>
+	 * Note: the given options are read once. So, changing them afterwards won't affect this.
+	 *
+	 * @param options the options of the new converter
+	 * @throws NullPointerException if the given 'options' is null
+	 */
+	protected BaseConverter(Options options) {
+		super(Objects.requireNonNull(options, "options").DEBUGGING);
+		ACYCLIC = options.ACYCLIC;
+		PARALLEL_THRESHOLD = options.PARALLEL_THRESHOLD;
+		POOL = options.POOL;
+	}
+
+	@Override
+	public <I, O> O convert(ConvertToken<I, O> token) {
+		if (this.isAcyclic(token))
+			//no bookkeeping
+			return super.convert(token);
+
+		try {
+			return super.convert(token);
+		} finally {
+			//the input is no more an ancestor of the next conversions
+			Map<Object, ConvertToken> active = (Map) token.tree.get("active");
+
+			if (active != null && active.get(token.input) == token)
+				active.remove(token.input);
+		}
+	}
+
+	/**
+	 * Get a view of the given collection. That converts each element to the given clazz when it is accessed. Instead of converting the whole
+	 * collection at once.
+	 * <p>
+	 * Note: the returned view is unmodifiable. And it reflects the changes of the given collection.
+	 *
+	 * @param input        the collection to be viewed
+	 * @param elementClazz the clazz to convert the elements to
+	 * @param <E>          the type of the converted elements
+	 * @return a converting view of the given collection
+	 * @throws NullPointerException if any of the given parameters is null
+	 */
+	public <E> Collection<E> lazyCollection(Collection input, Clazz<E> elementClazz) {
+		return new LazyCollection<>(input, elementClazz);
+	}
+
+	/**
+	 * Get a view of the given list. That converts each element to the given clazz when it is accessed. Instead of converting the whole list at once.
+	 * So, reading a few elements of a large list costs only the conversion of them.
+	 * <p>
+	 * Note: the returned view is unmodifiable. If memoized, each element is converted at most once (the same output is returned on every access). So,
+	 * the given list should not be structurally modified while a memoized view of it is in use.
+	 *
+	 * @param input        the list to be viewed
+	 * @param elementClazz the clazz to convert the elements to
+	 * @param memoize      true, to remember the output of each index after converting it
+	 * @param <E>          the type of the converted elements
+	 * @return a converting view of the given list
+	 * @throws NullPointerException if the given 'input' or 'elementClazz' is null
+	 */
+	public <E> List<E> lazyList(List input, Clazz<E> elementClazz, boolean memoize) {
+		return new LazyList<>(input, elementClazz, memoize);
+	}
+
+	/**
+	 * Get a view of the given map. That converts each value to the given clazz when it is accessed. Instead of converting the whole map at once. The
+	 * keys are not converted (so, the view can be queried with the keys of the given map).
+	 * <p>
+	 * Note: the returned view is unmodifiable. If memoized, each value is converted at most once (the same output is returned on every access). So,
+	 * the values of the given map should not be replaced while a memoized view of it is in use.
+	 *
+	 * @param input      the map to be viewed
+	 * @param valueClazz the clazz to convert the values to
+	 * @param memoize    true, to remember the output of each key after converting its value
+	 * @param <K>        the type of the keys
+	 * @param <V>        the type of the converted values
+	 * @return a converting view of the given map
+	 * @throws NullPointerException if the given 'input' or 'valueClazz' is null
+	 */
+	public <K, V> Map<K, V> lazyMap(Map<K, ?> input, Clazz<V> valueClazz, boolean memoize) {
+		return new LazyMap<>(input, valueClazz, memoize);
 	}
 
+	/**
+	 * Detect the recursions and the deja-vus. In constant time. Using two identity tables on the {@link ConvertToken#tree}:
+	 * <ul>
+	 *     <li>{@code "active"}: the inputs being converted (the inputs of the ancestors of the token).</li>
+	 *     <li>{@code "refs"}: the inputs converted (or being converted) before.</li>
+	 * </ul>
+	 *
+	 * <p>
+	 * Note: skipped in the acyclic mode (see {@link #ACYCLIC}).
+	 *
+	 * @param token the token provided by the caller
+	 * @return true
+	 * @throws NullPointerException if the given 'token' is null
+	 */
 	@Override
 	protected boolean convertPre(ConvertToken token) {
-		Map<Object, ConvertToken> linearMap = (Map) token.linear.computeIfAbsent("refs", k -> new HashMap());
-		Map<Object, ConvertToken> treeMap = (Map) token.tree.compute("refs", (k, v) -> v instanceof Map ? new HashMap((Map) v) : new HashMap());
+		if (this.isAcyclic(token))
+			return true;
+
+		Map<Object, ConvertToken> active = (Map) token.tree.computeIfAbsent("active", k -> new IdentityHashMap());
+		Map<Object, ConvertToken> refs = (Map) token.tree.computeIfAbsent("refs", k -> new IdentityHashMap());
 
 		//RECURSE DETECTION
-		for (Map.Entry<Object, ConvertToken> entry : linearMap.entrySet())
-			if (entry.getKey() == token.input) {
-				token.inputClazz = token.inputClazz.override(Recurse.class);
-				token.data.put("recurseToken", entry.getValue());
-				token.data.put("recurse", entry.getValue().output);
-				return true;
-			}
+		ConvertToken ancestor = active.get(token.input);
+		if (ancestor != null) {
+			token.inputClazz = token.inputClazz.override(Recurse.class);
+			token.getData().put("recurseToken", ancestor);
+			token.getData().put("recurse", ancestor.output);
+			return true;
+		}
 
 		//DEJAVU DETECTION
-		for (Map.Entry<Object, ConvertToken> entry : treeMap.entrySet())
-			if (entry.getKey() == token.input) {
-				token.inputClazz = token.inputClazz.override(DejaVu.class);
-				token.data.put("dejavuToken", entry.getValue());
-				token.data.put("dejavu", entry.getValue().output);
-				return true;
-			}
+		ConvertToken previous = refs.get(token.input);
+		if (previous != null) {
+			token.inputClazz = token.inputClazz.override(DejaVu.class);
+			token.getData().put("dejavuToken", previous);
+			token.getData().put("dejavu", previous.output);
+			return true;
+		}
 
 		//REGISTER
-		linearMap.put(token.input, token);
-		treeMap.put(token.input, token);
+		active.put(token.input, token);
+		refs.put(token.input, token);
 		return true;
 	}
 
+	/**
+	 * Convert the given element of the input of the given token. Using the plan of the element if the given token has a plan.
+	 * <p>
+	 * In the acyclic mode (see {@link #isAcyclic}), if this has no cache and no overridden hooks (see {@link #isHooked}), then the element is
+	 * converted directly by the resolved method of its plan. Skipping the bookkeeping of {@link #convert(ConvertToken)}: the cache, {@link
+	 * #convertPre} and the lookup of the method. So, subclasses overriding {@link #convert(ConvertToken)} or {@link #convertPre} should override this
+	 * method too.
+	 *
+	 * @param token  the conversion instance of the container of the element
+	 * @param input  the input element
+	 * @param output the initial output element (could be null)
+	 * @param tree   the tree where the element is located at its container
+	 * @param key    the key of the element at its container (could be null)
+	 * @return the output element
+	 * @throws NullPointerException if the given 'token' is null
+	 * @throws ConvertException     if any converting error occurred
+	 */
+	protected Object convertElement(ConvertToken token, Object input, Object output, int tree, Object key) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		if (token.plan != null && input != null) {
+			//the clazzes and the method of the element are already resolved
+			ConvertPlan plan = token.plan.element(input, output, tree, key);
+			ConvertToken sub = token.subToken(input, output, plan.inputClazz, plan.outputClazz);
+			sub.plan = plan;
+
+			if (this.cache != null || this.isHooked() || !this.isAcyclic(sub))
+				return this.convert(sub);
+
+			//walk the plan directly
+			if (plan.method == null)
+				this.convertElse(sub);
+			else this.convert0(plan.method, sub);
+
+			return sub.output;
+		}
+
+		return this.convert(token.subToken(
+				input,
+				output,
+				Clazz.ofi(input),
+				output == null ? null : Clazz.ofi(output),
+				tree,
+				key
+		));
+	}
+
+	/**
+	 * Convert the given token in bulk. If the output is a primitive array. And the input is a primitive array or a collection (or an array) of boxed
+	 * primitives. Using tight loops (no boxing, no reflection and no sub-tokens). Same-type primitive arrays are copied using {@link
+	 * System#arraycopy}.
+	 * <p>
+	 * Note: numbers are converted the same way {@link #numberToNumber} does (a primitive cast).
+	 *
+	 * @param token the conversion instance that holds the variables of this conversion
+	 * @return true, if the given token has been converted. False, if it should be converted element by element
+	 * @throws NullPointerException if the given 'token' or 'token.input' is null
+	 */
+	protected boolean primitivesToArray(ConvertToken<Collection, Object> token) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+			Objects.requireNonNull(token.input, "token.input");
+		}
+
+		Class type = token.outputClazz.getComponentType();
+
+		if (type == null || !type.isPrimitive())
+			return false;
+
+		Object input = token.input;
+		Class from = input.getClass().getComponentType();
+		Collection collection = null;
+		int length;
+
+		if (from != null && from.isPrimitive()) {
+			//booleans and chars are not numbers
+			if (from != type && (from == boolean.class || from == char.class || type == boolean.class || type == char.class))
+				return false;
+
+			length = Array.getLength(input);
+		} else {
+			collection = input instanceof Collection ? (Collection) input : Arrays.asList((Object[]) input);
+
+			for (Object element : collection)
+				if (type == boolean.class ? !(element instanceof Boolean) :
+					type == char.class ? !(element instanceof Character) :
+					!(element instanceof Number))
+					return false;
+
+			length = collection.size();
+		}
+
+		Object output = token.outputClazz.isInstance(token.output) && Array.getLength(token.output) == length ?
+						token.output :
+						Array.newInstance(type, length);
+
+		if (collection != null)
+			BaseConverter.store(collection, output);
+		else if (from == type)
+			System.arraycopy(input, 0, output, 0, length);
+		else if (from == float.class || from == double.class)
+			BaseConverter.store(BaseConverter.doubles(input), output);
+		else BaseConverter.store(BaseConverter.longs(input), output);
+
+		token.output = output;
+		return true;
+	}
+
+	/**
+	 * Convert the given elements of the input of the given token in parallel. (on the {@link #POOL})
+	 * <p>
+	 * Note: the sub-tokens of the elements share the tree of the given token. So, this should be used only in the acyclic mode (see {@link
+	 * #isParallel}).
+	 *
+	 * @param token   the conversion instance of the container of the elements
+	 * @param inputs  the input elements
+	 * @param outputs the initial output elements (same length as the given inputs)
+	 * @param tree    the tree where the elements are located at their container
+	 * @param keys    the keys of the elements at their container (same length as the given inputs. Or null if the elements have no keys)
+	 * @return the output elements (in order)
+	 * @throws NullPointerException if any of the given parameters is null
+	 * @throws ConvertException     if any converting error occurred
+	 */
+	protected Object[] convertElements(ConvertToken token, Object[] inputs, Object[] outputs, int tree, Object[] keys) {
+		Objects.requireNonNull(token, "token");
+		Objects.requireNonNull(inputs, "inputs");
+		Objects.requireNonNull(outputs, "outputs");
+
+		//freeze the linear table of the container now. So, forking it from many threads won't modify it
+		token.linear.freeze();
+
+		Object[] results = new Object[inputs.length];
+		Runnable task = () -> IntStream.range(0, inputs.length)
+				.parallel()
+				.forEach(i -> results[i] = this.convertElement(token, inputs[i], outputs[i], tree, keys == null ? null : keys[i]));
+
+		if (POOL == null)
+			//parallel streams run on the common pool
+			task.run();
+		else
+			//parallel streams run on the pool of the task they are started by
+			POOL.submit(task).join();
+
+		return results;
+	}
+
+	/**
+	 * Determine if the conversion of the given token is in the acyclic mode. (see {@link #ACYCLIC})
+	 *
+	 * @param token the conversion instance to be checked
+	 * @return true, if the recursion and deja-vu detection should be skipped for the given token
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected boolean isAcyclic(ConvertToken token) {
+		return ACYCLIC || Boolean.TRUE.equals(token.tree.get("acyclic"));
+	}
+
+	/**
+	 * Determine if the elements of the input of the given token should be converted in parallel. (see {@link #PARALLEL_THRESHOLD})
+	 * <p>
+	 * Note: elements are never converted in parallel unless the conversion of the given token is in the acyclic mode (see {@link #isAcyclic}).
+	 *
+	 * @param token the conversion instance of the container of the elements
+	 * @param size  the number of the elements
+	 * @return true, if the elements should be converted in parallel
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected boolean isParallel(ConvertToken token, int size) {
+		return PARALLEL_THRESHOLD > 0 && size >= PARALLEL_THRESHOLD && this.isAcyclic(token);
+	}
+
 	/**
 	 * Replace the elements on the {@link ConvertToken#output} from the given token. All from the given {@link ConvertToken#input}. If the output is
 	 * null, or have a type different than the class at {@link ConvertToken#outputClazz}. Or have length other than the length of the {@link
@@ -151,6 +547,10 @@ public class BaseConverter extends AbstractConverter {
 			Objects.requireNonNull(token.input, "token.input");
 		}
 
+		if (this.primitivesToArray(token))
+			//converted in bulk (no boxing)
+			return;
+
 		//declare the input
 		Collection input = token.input instanceof Collection ? token.input : Arrayz.asList0(token.input);
 
@@ -160,6 +560,19 @@ public class BaseConverter extends AbstractConverter {
 			token.output = Array.newInstance(token.outputClazz.getComponentType(), input.size());
 		}
 
+		if (this.isParallel(token, input.size())) {
+			Object[] inputs = input.toArray();
+			Object[] outputs = new Object[inputs.length];
+			for (int i = 0; i < outputs.length; i++)
+				outputs[i] = Array.get(token.output, i);
+
+			outputs = this.convertElements(token, inputs, outputs, 0, null);
+
+			for (int i = 0; i < outputs.length; i++)
+				Array.set(token.output, i, outputs[i]);
+			return;
+		}
+
 		//converting elements
 		Iterator it = input.iterator();
 		for (int i = 0; it.hasNext(); i++) {
@@ -168,13 +581,7 @@ public class BaseConverter extends AbstractConverter {
 			Object outputElement = Array.get(token.output, i);
 
 			//DyNaMiC cOnVeRsIoN _/-\_/-\_/- :0 ~ MA-GI-KKU
-			outputElement = this.convert(token.subToken(
-					inputElement,
-					outputElement,
-					Clazz.ofi(inputElement),
-					outputElement == null ? null : Clazz.ofi(outputElement),
-					0
-			));
+			outputElement = this.convertElement(token, inputElement, outputElement, 0, null);
 
 			//Replace the element at the output with the converted element from the input
 			Array.set(token.output, i, outputElement);
@@ -233,13 +640,7 @@ public class BaseConverter extends AbstractConverter {
 			Object outputElement = null;
 
 			//DyNaMiC cOnVeRsIoN _/-\_/-\_/- :0 ~ MA-GI-KKU
-			outputElement = this.convert(token.subToken(
-					inputElement,
-					outputElement,
-					Clazz.ofi(inputElement),
-					outputElement == null ? null : Clazz.ofi(outputElement),
-					0
-			));
+			outputElement = this.convertElement(token, inputElement, outputElement, 0, null);
 
 			//add the element to the output
 			token.output.add(outputElement);
@@ -298,6 +699,14 @@ public class BaseConverter extends AbstractConverter {
 			}
 		}
 
+		if (this.isParallel(token, input.size())) {
+			Object[] outputs = this.convertElements(token, input.toArray(), token.output.toArray(), 0, null);
+
+			for (int i = 0; i < outputs.length; i++)
+				token.output.set(i, outputs[i]);
+			return;
+		}
+
 		//converting elements
 		Iterator it = input.iterator();
 		for (int i = 0; it.hasNext(); i++) {
@@ -306,13 +715,7 @@ public class BaseConverter extends AbstractConverter {
 			Object outputElement = token.output.get(i);
 
 			//DyNaMiC cOnVeRsIoN _/-\_/-\_/- :0 ~ MA-GI-KKU
-			outputElement = this.convert(token.subToken(
-					inputElement,
-					outputElement,
-					Clazz.ofi(inputElement),
-					outputElement == null ? null : Clazz.ofi(outputElement),
-					0
-			));
+			outputElement = this.convertElement(token, inputElement, outputElement, 0, null);
 
 			//Set the elements from the input
 			token.output.set(i, outputElement);
@@ -346,8 +749,8 @@ public class BaseConverter extends AbstractConverter {
 		}
 
 		//IT SHOULD HAVE BEEN PASSED TO US :)
-		if (token.data.containsKey("dejavu"))
-			token.output = token.data.get("dejavu");
+		if (token.getData().containsKey("dejavu"))
+			token.output = token.getData().get("dejavu");
 		else throw new IllegalArgumentException("the key 'dejavu' haven't been passed!");
 	}
 
@@ -381,6 +784,24 @@ public class BaseConverter extends AbstractConverter {
 			//remove unwanted keys
 			token.output.keySet().retainAll(token.input.keySet());
 		}
+		if (this.isParallel(token, token.input.size())) {
+			Map.Entry[] entries = (Map.Entry[]) token.input.entrySet().toArray(new Map.Entry[0]);
+			Object[] keys = new Object[entries.length];
+			Object[] inputs = new Object[entries.length];
+			Object[] outputs = new Object[entries.length];
+			for (int i = 0; i < entries.length; i++) {
+				keys[i] = entries[i].getKey();
+				inputs[i] = entries[i].getValue();
+				outputs[i] = token.output.get(keys[i]);
+			}
+
+			outputs = this.convertElements(token, inputs, outputs, 1, keys);
+
+			for (int i = 0; i < entries.length; i++)
+				token.output.put(entries[i].getKey(), outputs[i]);
+			return;
+		}
+
 		//converting elements
 		for (Map.Entry entry : (Set<Map.Entry>) token.input.entrySet()) {
 			//init
@@ -388,13 +809,7 @@ public class BaseConverter extends AbstractConverter {
 			Object outputElement = token.output.get(entry.getKey());
 
 			//DyNaMiC cOnVeRsIoN _/-\_/-\_/- :0 ~ MA-GI-KKU
-			outputElement = this.convert(token.subToken(
-					inputElement,
-					outputElement,
-					Clazz.ofi(inputElement),
-					outputElement == null ? null : Clazz.ofi(outputElement),
-					1
-			));
+			outputElement = this.convertElement(token, inputElement, outputElement, 1, entry.getKey());
 
 			//Set the elements from the input
 			token.output.put(entry.getKey(), outputElement);
@@ -419,7 +834,9 @@ public class BaseConverter extends AbstractConverter {
 					}
 			),
 			output = @Filter(
-					include = {Byte.class,
+					include = {BigDecimal.class,
+							   BigInteger.class,
+							   Byte.class,
 							   Double.class,
 							   Float.class,
 							   Integer.class,
@@ -440,28 +857,46 @@ public class BaseConverter extends AbstractConverter {
 			Objects.requireNonNull(token.input, "token.input");
 		}
 
-		Class klass = token.outputClazz.getKlass();
+		Integer type = TYPES.get(token.outputClazz.getKlass());
+		Number input = token.input;
 
-		if (klass == byte.class || klass == Byte.class) {
-			//BYTE
-			token.output = token.input.intValue();
-		} else if (klass == double.class || klass == Double.class) {
-			//DOUBLE
-			token.output = token.input.doubleValue();
-		} else if (klass == float.class || klass == Float.class) {
-			//FLOAT
-			token.output = token.input.floatValue();
-		} else if (klass == int.class || klass == Integer.class) {
-			//INTEGER
-			token.output = token.input.intValue();
-		} else if (klass == long.class || klass == Long.class) {
-			//LONG
-			token.output = token.input.longValue();
-		} else if (klass == short.class || klass == Short.class) {
-			//SHORT
-			token.output = token.input.shortValue();
-		} else {
-			throw new ConvertException("can't convert " + token.inputClazz + " to " + token.outputClazz);
+		switch (type == null ? -1 : type) {
+			case BIG_DECIMAL:
+				token.output = input instanceof BigDecimal ? input :
+							   input instanceof BigInteger ? new BigDecimal((BigInteger) input) :
+							   input instanceof Double || input instanceof Float ? BigDecimal.valueOf(input.doubleValue()) :
+							   input instanceof Long || input instanceof Integer || input instanceof Short || input instanceof Byte ?
+							   BigDecimal.valueOf(input.longValue()) :
+							   new BigDecimal(input.toString());
+				break;
+			case BIG_INTEGER:
+				token.output = input instanceof BigInteger ? input :
+							   input instanceof BigDecimal ? ((BigDecimal) input).toBigInteger() :
+							   input instanceof Double || input instanceof Float ? BigDecimal.valueOf(input.doubleValue()).toBigInteger() :
+							   input instanceof Long || input instanceof Integer || input instanceof Short || input instanceof Byte ?
+							   BigInteger.valueOf(input.longValue()) :
+							   new BigDecimal(input.toString()).toBigInteger();
+				break;
+			case BYTE:
+				token.output = input.byteValue();
+				break;
+			case DOUBLE:
+				token.output = input.doubleValue();
+				break;
+			case FLOAT:
+				token.output = input.floatValue();
+				break;
+			case INTEGER:
+				token.output = input.intValue();
+				break;
+			case LONG:
+				token.output = input.longValue();
+				break;
+			case SHORT:
+				token.output = input.shortValue();
+				break;
+			default:
+				throw new ConvertException("can't convert " + token.inputClazz + " to " + token.outputClazz);
 		}
 	}
 
@@ -521,14 +956,18 @@ public class BaseConverter extends AbstractConverter {
 		}
 
 		//IT SHOULD HAVE BEEN PASSED TO US :)
-		if (token.data.containsKey("recurse"))
-			token.output = token.data.get("recurse");
+		if (token.getData().containsKey("recurse"))
+			token.output = token.getData().get("recurse");
 		else throw new IllegalArgumentException("the key 'recurse' haven't been passed!");
 	}
 
 	/**
 	 * Try to construct a new object of the value of the given {@link ConvertToken#input} with type of the {@link ConvertToken#outputClazz}. Using
 	 * ether a method with a signature equals to 'valueOf(String)'. Or a constructor with a signature equals to '(String)'.
+	 * <p>
+	 * Note: the JDK numeric types (and booleans) are constructed directly. And the method (or constructor) of any other class is resolved once.
+	 * Then invoked through a cached handle. Either way, any exception thrown while constructing the output is wrapped with an {@link
+	 * InvocationTargetException} (the same as a reflective invocation would do).
 	 *
 	 * @param token the conversion instance that holds the variables of this conversion
 	 * @throws NullPointerException         if the given 'token' or 'input' is null
@@ -556,8 +995,53 @@ public class BaseConverter extends AbstractConverter {
 			Objects.requireNonNull(token.input, "token.input");
 		}
 
+		Class klass = token.outputClazz.getKlass();
+		Integer type = TYPES.get(klass);
+
 		if ("null".equals(token.input)) {
 			token.output = null;
+		} else if (type != null) try {
+			//JDK types (direct calls)
+			switch (type) {
+				case BIG_DECIMAL:
+					token.output = new BigDecimal(token.input);
+					break;
+				case BIG_INTEGER:
+					token.output = new BigInteger(token.input);
+					break;
+				case BOOLEAN:
+					token.output = Boolean.valueOf(token.input);
+					break;
+				case BYTE:
+					token.output = Byte.valueOf(token.input);
+					break;
+				case DOUBLE:
+					token.output = Double.valueOf(token.input);
+					break;
+				case FLOAT:
+					token.output = Float.valueOf(token.input);
+					break;
+				case INTEGER:
+					token.output = Integer.valueOf(token.input);
+					break;
+				case LONG:
+					token.output = Long.valueOf(token.input);
+					break;
+				default:
+					token.output = Short.valueOf(token.input);
+					break;
+			}
+		} catch (RuntimeException e) {
+			throw new InvocationTargetException(e);
+		} else if (PARSERS.get(klass).isPresent()) {
+			//cached handle
+			MethodHandle parser = PARSERS.get(klass).get();
+
+			try {
+				token.output = (Object) parser.invokeExact(token.input);
+			} catch (Throwable e) {
+				throw new InvocationTargetException(e);
+			}
 		} else try {
 			token.output = token.outputClazz.getMethod("valueOf", String.class).invoke(null, token.input);
 		} catch (NoSuchMethodException ignored) {
@@ -568,4 +1052,444 @@ public class BaseConverter extends AbstractConverter {
 			}
 		}
 	}
+
+	/**
+	 * Get the values of the given floating-point array as doubles.
+	 *
+	 * @param array a {@code float[]} or a {@code double[]}
+	 * @return the values of the given array (the given array itself if it is a {@code double[]})
+	 */
+	private static double[] doubles(Object array) {
+		if (array instanceof double[])
+			return (double[]) array;
+
+		float[] floats = (float[]) array;
+		double[] doubles = new double[floats.length];
+		for (int i = 0; i < floats.length; i++)
+			doubles[i] = floats[i];
+		return doubles;
+	}
+
+	/**
+	 * Get the values of the given integral array as longs.
+	 *
+	 * @param array a {@code byte[]}, a {@code short[]}, an {@code int[]} or a {@code long[]}
+	 * @return the values of the given array (the given array itself if it is a {@code long[]})
+	 */
+	private static long[] longs(Object array) {
+		if (array instanceof long[])
+			return (long[]) array;
+
+		int length = Array.getLength(array);
+		long[] longs = new long[length];
+
+		if (array instanceof int[]) {
+			int[] ints = (int[]) array;
+			for (int i = 0; i < length; i++)
+				longs[i] = ints[i];
+		} else if (array instanceof short[]) {
+			short[] shorts = (short[]) array;
+			for (int i = 0; i < length; i++)
+				longs[i] = shorts[i];
+		} else {
+			byte[] bytes = (byte[]) array;
+			for (int i = 0; i < length; i++)
+				longs[i] = bytes[i];
+		}
+
+		return longs;
+	}
+
+	/**
+	 * Store the given boxed values into the given primitive array.
+	 *
+	 * @param values the values to be stored (booleans, characters or numbers depending on the type of the given array)
+	 * @param array  the primitive array to store into (with the same length as the given values)
+	 */
+	private static void store(Collection values, Object array) {
+		Iterator it = values.iterator();
+
+		if (array instanceof boolean[]) {
+			boolean[] output = (boolean[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = (Boolean) it.next();
+		} else if (array instanceof char[]) {
+			char[] output = (char[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = (Character) it.next();
+		} else if (array instanceof byte[]) {
+			byte[] output = (byte[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = ((Number) it.next()).byteValue();
+		} else if (array instanceof double[]) {
+			double[] output = (double[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = ((Number) it.next()).doubleValue();
+		} else if (array instanceof float[]) {
+			float[] output = (float[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = ((Number) it.next()).floatValue();
+		} else if (array instanceof int[]) {
+			int[] output = (int[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = ((Number) it.next()).intValue();
+		} else if (array instanceof long[]) {
+			long[] output = (long[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = ((Number) it.next()).longValue();
+		} else {
+			short[] output = (short[]) array;
+			for (int i = 0; i < output.length; i++)
+				output[i] = ((Number) it.next()).shortValue();
+		}
+	}
+
+	/**
+	 * Store the given floating-point values into the given numeric primitive array. (a primitive cast)
+	 *
+	 * @param values the values to be stored
+	 * @param array  the numeric primitive array to store into (with the same length as the given values)
+	 */
+	private static void store(double[] values, Object array) {
+		if (array instanceof byte[]) {
+			byte[] output = (byte[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (byte) values[i];
+		} else if (array instanceof double[]) {
+			System.arraycopy(values, 0, array, 0, values.length);
+		} else if (array instanceof float[]) {
+			float[] output = (float[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (float) values[i];
+		} else if (array instanceof int[]) {
+			int[] output = (int[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (int) values[i];
+		} else if (array instanceof long[]) {
+			long[] output = (long[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (long) values[i];
+		} else {
+			short[] output = (short[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (short) values[i];
+		}
+	}
+
+	/**
+	 * Store the given integral values into the given numeric primitive array. (a primitive cast)
+	 *
+	 * @param values the values to be stored
+	 * @param array  the numeric primitive array to store into (with the same length as the given values)
+	 */
+	private static void store(long[] values, Object array) {
+		if (array instanceof byte[]) {
+			byte[] output = (byte[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (byte) values[i];
+		} else if (array instanceof double[]) {
+			double[] output = (double[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (double) values[i];
+		} else if (array instanceof float[]) {
+			float[] output = (float[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (float) values[i];
+		} else if (array instanceof int[]) {
+			int[] output = (int[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (int) values[i];
+		} else if (array instanceof long[]) {
+			System.arraycopy(values, 0, array, 0, values.length);
+		} else {
+			short[] output = (short[]) array;
+			for (int i = 0; i < values.length; i++)
+				output[i] = (short) values[i];
+		}
+	}
+
+	/**
+	 * A view of a collection. That converts each element when it is accessed.
+	 *
+	 * @param <E> the type of the converted elements
+	 */
+	public class LazyCollection<E> extends AbstractCollection<E> {
+		/**
+		 * The clazz to convert the elements to.
+		 */
+		protected final Clazz<E> elementClazz;
+		/**
+		 * The viewed collection.
+		 */
+		protected final Collection input;
+
+		/**
+		 * Construct a new converting view of the given collection.
+		 *
+		 * @param input        the collection to be viewed
+		 * @param elementClazz the clazz to convert the elements to
+		 * @throws NullPointerException if any of the given parameters is null
+		 */
+		public LazyCollection(Collection input, Clazz<E> elementClazz) {
+			Objects.requireNonNull(input, "input");
+			Objects.requireNonNull(elementClazz, "elementClazz");
+			this.input = input;
+			this.elementClazz = elementClazz;
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			Iterator iterator = this.input.iterator();
+			return new Iterator<E>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public E next() {
+					return BaseConverter.this.convert(iterator.next(), null, LazyCollection.this.elementClazz);
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.input.size();
+		}
+	}
+
+	/**
+	 * A view of a list. That converts each element when it is accessed. (optionally remembering the output of each index)
+	 *
+	 * @param <E> the type of the converted elements
+	 */
+	public class LazyList<E> extends AbstractList<E> {
+		/**
+		 * The clazz to convert the elements to.
+		 */
+		protected final Clazz<E> elementClazz;
+		/**
+		 * The viewed list.
+		 */
+		protected final List input;
+		/**
+		 * The outputs of the indexes converted so far. (null if not memoized)
+		 */
+		protected final AtomicReferenceArray<Optional<E>> outputs;
+
+		/**
+		 * Construct a new converting view of the given list.
+		 *
+		 * @param input        the list to be viewed
+		 * @param elementClazz the clazz to convert the elements to
+		 * @param memoize      true, to remember the output of each index after converting it
+		 * @throws NullPointerException if the given 'input' or 'elementClazz' is null
+		 */
+		public LazyList(List input, Clazz<E> elementClazz, boolean memoize) {
+			Objects.requireNonNull(input, "input");
+			Objects.requireNonNull(elementClazz, "elementClazz");
+			this.input = input;
+			this.elementClazz = elementClazz;
+			this.outputs = memoize ? new AtomicReferenceArray<>(input.size()) : null;
+		}
+
+		@Override
+		public E get(int index) {
+			return this.output(index, this.input.get(index));
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			//walk the input directly (the input could be a linked list)
+			ListIterator iterator = this.input.listIterator();
+			return new Iterator<E>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public E next() {
+					int index = iterator.nextIndex();
+					return LazyList.this.output(index, iterator.next());
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.input.size();
+		}
+
+		/**
+		 * Get the output of the given element at the given index. Converting it if it was not converted before.
+		 *
+		 * @param index the index of the element
+		 * @param input the input element
+		 * @return the output of the given element
+		 * @throws ConvertException if any converting error occurred
+		 */
+		protected E output(int index, Object input) {
+			if (this.outputs == null || index >= this.outputs.length())
+				//not memoized (or added after this view was constructed)
+				return BaseConverter.this.convert(input, null, this.elementClazz);
+
+			Optional<E> output = this.outputs.get(index);
+
+			if (output == null) {
+				E converted = BaseConverter.this.convert(input, null, this.elementClazz);
+				//the first output wins (if converted by many threads at once)
+				this.outputs.compareAndSet(index, null, Optional.ofNullable(converted));
+				output = this.outputs.get(index);
+			}
+
+			return output.orElse(null);
+		}
+	}
+
+	/**
+	 * A view of a map. That converts each value when it is accessed. (optionally remembering the output of each key)
+	 *
+	 * @param <K> the type of the keys
+	 * @param <V> the type of the converted values
+	 */
+	public class LazyMap<K, V> extends AbstractMap<K, V> {
+		/**
+		 * The viewed map.
+		 */
+		protected final Map<K, ?> input;
+		/**
+		 * The outputs of the keys converted so far. (null if not memoized)
+		 */
+		protected final Map<Object, Optional<V>> outputs;
+		/**
+		 * The clazz to convert the values to.
+		 */
+		protected final Clazz<V> valueClazz;
+
+		/**
+		 * Construct a new converting view of the given map.
+		 *
+		 * @param input      the map to be viewed
+		 * @param valueClazz the clazz to convert the values to
+		 * @param memoize    true, to remember the output of each key after converting its value
+		 * @throws NullPointerException if the given 'input' or 'valueClazz' is null
+		 */
+		public LazyMap(Map<K, ?> input, Clazz<V> valueClazz, boolean memoize) {
+			Objects.requireNonNull(input, "input");
+			Objects.requireNonNull(valueClazz, "valueClazz");
+			this.input = input;
+			this.valueClazz = valueClazz;
+			this.outputs = memoize ? Collections.synchronizedMap(new HashMap<>()) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.input.containsKey(key);
+		}
+
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return new AbstractSet<Entry<K, V>>() {
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					Iterator<? extends Entry<K, ?>> iterator = LazyMap.this.input.entrySet().iterator();
+					return new Iterator<Entry<K, V>>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<K, V> next() {
+							Entry<K, ?> entry = iterator.next();
+							return new SimpleImmutableEntry<>(entry.getKey(), LazyMap.this.output(entry.getKey(), entry.getValue()));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return LazyMap.this.input.size();
+				}
+			};
+		}
+
+		@Override
+		public V get(Object key) {
+			Object value = this.input.get(key);
+			return value == null && !this.input.containsKey(key) ? null : this.output(key, value);
+		}
+
+		@Override
+		public Set<K> keySet() {
+			//no need to convert the values to iterate the keys
+			return Collections.unmodifiableSet(this.input.keySet());
+		}
+
+		@Override
+		public int size() {
+			return this.input.size();
+		}
+
+		/**
+		 * Get the output of the given value of the given key. Converting it if it was not converted before.
+		 *
+		 * @param key   the key of the value
+		 * @param input the input value
+		 * @return the output of the given value
+		 * @throws ConvertException if any converting error occurred
+		 */
+		protected V output(Object key, Object input) {
+			if (this.outputs == null)
+				return BaseConverter.this.convert(input, null, this.valueClazz);
+
+			Optional<V> output = this.outputs.get(key);
+
+			if (output == null) {
+				V converted = BaseConverter.this.convert(input, null, this.valueClazz);
+				//the first output wins (if converted by many threads at once)
+				output = this.outputs.computeIfAbsent(key, k -> Optional.ofNullable(converted));
+			}
+
+			return output.orElse(null);
+		}
+	}
+
+	/**
+	 * The options of a base converter. (read once by the constructor of the converter)
+	 */
+	public static class Options {
+		/**
+		 * If the inputs converted by the converter are always trees (no cycles).
+		 */
+		public boolean ACYCLIC;
+		/**
+		 * If the converter should be in a debugging mode.
+		 */
+		public boolean DEBUGGING;
+		/**
+		 * The minimum number of elements to convert in parallel. (zero to disable parallel conversion. Only effective with {@link #ACYCLIC})
+		 */
+		public int PARALLEL_THRESHOLD;
+		/**
+		 * The pool to convert elements in parallel on. (null for the common {@link ForkJoinPool})
+		 */
+		public ForkJoinPool POOL;
+
+		/**
+		 * Set the defaults of these options.
+		 *
+		 * @return this
+		 */
+		public Options setDefaults() {
+			ACYCLIC = false;
+			DEBUGGING = false;
+			PARALLEL_THRESHOLD = 1 << 14;
+			POOL = null;
+
+			return this;
+		}
+	}
 }
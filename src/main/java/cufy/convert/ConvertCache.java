@@ -0,0 +1,307 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.convert;
+
+import cufy.lang.Clazz;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded thread-safe cache of the results of conversions. Keyed by the input and the clazzes of the conversion. When the cache is full, a result
+ * not used recently is evicted (the clock algorithm: the keys are kept in a ring, and a persistent hand goes around it sparing the results used
+ * since its last pass). The hits and the misses of the cache are counted.
+ * <p>
+ * Lookups take no lock. They only mark the result found as used. Only the insertions are serialized. And each one moves the hand over a constant
+ * number of keys (amortized).
+ * <p>
+ * Note: only immutable values (strings, boxed primitives, enums, {@link BigDecimal}s, {@link BigInteger}s and null) are cached. Since a cached result
+ * is shared by all the conversions of the same input.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public class ConvertCache {
+	/**
+	 * The classes of the immutable values.
+	 */
+	private static final Set<Class> IMMUTABLE = new HashSet<>(Arrays.asList(
+			BigDecimal.class,
+			BigInteger.class,
+			Boolean.class,
+			Byte.class,
+			Character.class,
+			Double.class,
+			Float.class,
+			Integer.class,
+			Long.class,
+			Short.class,
+			String.class
+	));
+
+	/**
+	 * The maximum number of results cached.
+	 */
+	protected final int capacity;
+	/**
+	 * The number of lookups found a result.
+	 */
+	protected final LongAdder hits = new LongAdder();
+	/**
+	 * The number of lookups found no result.
+	 */
+	protected final LongAdder misses = new LongAdder();
+	/**
+	 * The cached results.
+	 */
+	protected final Map<Key, Entry> results = new ConcurrentHashMap<>();
+	/**
+	 * The keys of the cached results. (in the order they were put in their slots)
+	 */
+	protected final Key[] ring;
+	/**
+	 * The number of slots of the {@link #ring} in use. (guarded by this)
+	 */
+	protected int count;
+	/**
+	 * The position of the clock hand on the {@link #ring}. (guarded by this)
+	 */
+	protected int hand;
+
+	/**
+	 * Construct a new cache that holds at most the given number of results.
+	 *
+	 * @param capacity the maximum number of results to be cached
+	 * @throws IllegalArgumentException if the given 'capacity' is less than 1
+	 */
+	public ConvertCache(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("capacity < 1");
+
+		this.capacity = capacity;
+		this.ring = new Key[capacity];
+	}
+
+	/**
+	 * Determine if the given value is immutable. (and so, it can be cached)
+	 *
+	 * @param value the value to be checked
+	 * @return true, if the given value is null, a string, a boxed primitive, an enum, a {@link BigDecimal} or a {@link BigInteger}
+	 */
+	public static boolean isImmutable(Object value) {
+		return value == null || IMMUTABLE.contains(value.getClass()) || value instanceof Enum;
+	}
+
+	/**
+	 * Forget all the results cached. And reset the counters of this.
+	 */
+	public synchronized void clear() {
+		this.results.clear();
+		Arrays.fill(this.ring, null);
+		this.count = 0;
+		this.hand = 0;
+		this.hits.reset();
+		this.misses.reset();
+	}
+
+	/**
+	 * Get the cached result of converting the given input from the given input clazz to the given output clazz.
+	 *
+	 * @param input       the input converted
+	 * @param inputClazz  the clazz of the input
+	 * @param outputClazz the clazz of the output
+	 * @return the cached result (an empty optional if the result is null). Or null if there is no result cached for the given conversion
+	 * @throws NullPointerException if the given 'inputClazz' or 'outputClazz' is null
+	 */
+	public Optional<Object> get(Object input, Clazz inputClazz, Clazz outputClazz) {
+		Entry entry = this.results.get(new Key(input, inputClazz, outputClazz));
+
+		if (entry == null) {
+			this.misses.increment();
+			return null;
+		}
+
+		this.hits.increment();
+		entry.used = true;
+		return entry.result;
+	}
+
+	/**
+	 * Get the maximum number of results this cache holds.
+	 *
+	 * @return the capacity of this
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Get the number of lookups found a result.
+	 *
+	 * @return the hits of this
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Get the number of lookups found no result.
+	 *
+	 * @return the misses of this
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Cache the result of converting the given input from the given input clazz to the given output clazz. Evicting a result not used recently if this
+	 * cache is full. Nothing is cached if the given input or output is not immutable.
+	 *
+	 * @param input       the input converted
+	 * @param inputClazz  the clazz of the input
+	 * @param outputClazz the clazz of the output
+	 * @param output      the result of the conversion
+	 * @throws NullPointerException if the given 'inputClazz' or 'outputClazz' is null
+	 * @see #isImmutable(Object)
+	 */
+	public void put(Object input, Clazz inputClazz, Clazz outputClazz, Object output) {
+		if (isImmutable(input) && isImmutable(output)) {
+			Key key = new Key(input, inputClazz, outputClazz);
+			Entry entry = new Entry(Optional.ofNullable(output));
+
+			synchronized (this) {
+				if (this.results.put(key, entry) == null)
+					//a new key
+					if (this.count < this.capacity)
+						this.ring[this.count++] = key;
+					else this.ring[this.evict()] = key;
+			}
+		}
+	}
+
+	/**
+	 * Get the number of results cached.
+	 *
+	 * @return the size of this
+	 */
+	public int size() {
+		return this.results.size();
+	}
+
+	@Override
+	public String toString() {
+		return "ConvertCache(" + this.size() + "/" + this.capacity + "): " + this.getHits() + " hits, " + this.getMisses() + " misses";
+	}
+
+	/**
+	 * Move the clock hand to the first result not used since the hand passed it. And evict that result. Each result passed by the hand (used since
+	 * its last pass) is spared and marked as unused. Should be called while holding the lock of this, and only when the {@link #ring} is full.
+	 *
+	 * @return the slot of the evicted result (to be reused by the caller)
+	 */
+	protected int evict() {
+		while (true) {
+			int slot = this.hand;
+			Entry entry = this.results.get(this.ring[slot]);
+			this.hand = (slot + 1) % this.capacity;
+
+			if (entry != null && entry.used) {
+				entry.used = false;
+			} else {
+				this.results.remove(this.ring[slot]);
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * A cached result.
+	 */
+	protected static final class Entry {
+		/**
+		 * The result (an empty optional if the result is null).
+		 */
+		final Optional<Object> result;
+		/**
+		 * True, if the result has been used since the last sweep.
+		 */
+		volatile boolean used;
+
+		/**
+		 * Construct a new cached result.
+		 *
+		 * @param result the result (an empty optional if the result is null)
+		 */
+		Entry(Optional<Object> result) {
+			this.result = result;
+		}
+	}
+
+	/**
+	 * A conversion.
+	 */
+	protected static final class Key {
+		/**
+		 * The input converted.
+		 */
+		final Object input;
+		/**
+		 * The clazz of the input.
+		 */
+		final Clazz inputClazz;
+		/**
+		 * The clazz of the output.
+		 */
+		final Clazz outputClazz;
+
+		/**
+		 * Construct a new conversion key.
+		 *
+		 * @param input       the input converted
+		 * @param inputClazz  the clazz of the input
+		 * @param outputClazz the clazz of the output
+		 * @throws NullPointerException if the given 'inputClazz' or 'outputClazz' is null
+		 */
+		Key(Object input, Clazz inputClazz, Clazz outputClazz) {
+			Objects.requireNonNull(inputClazz, "inputClazz");
+			Objects.requireNonNull(outputClazz, "outputClazz");
+			this.input = input;
+			this.inputClazz = inputClazz;
+			this.outputClazz = outputClazz;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key))
+				return false;
+
+			Key key = (Key) object;
+			//the class matters (1 and 1L are different inputs)
+			return Objects.equals(this.input, key.input) &&
+				   this.inputClazz.equals(key.inputClazz) &&
+				   this.outputClazz.equals(key.outputClazz);
+		}
+
+		@Override
+		public int hashCode() {
+			return (Objects.hashCode(this.input) * 31 + this.inputClazz.hashCode()) * 31 + this.outputClazz.hashCode();
+		}
+	}
+}
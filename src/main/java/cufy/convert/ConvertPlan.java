@@ -0,0 +1,177 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.convert;
+
+import cufy.lang.Clazz;
+import cufy.util.DynamicMethod;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compiled plan of converting a clazz to another clazz. The converting method and the clazzes of the elements are resolved once. Then reused by
+ * every conversion walking this plan. The plans of the elements are compiled lazily (the first time an element of some class is seen). Then cached
+ * in this plan. So, a plan is a tree of the plans of the elements of its conversion (and the elements of them, and so on).
+ * <p>
+ * Note: plans are thread-safe. Also, elements of the same class (and with outputs of the same class) share the same plan.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public final class ConvertPlan {
+	/**
+	 * The clazz of the inputs of this plan.
+	 */
+	public final Clazz inputClazz;
+	/**
+	 * The resolved converting method of this plan. (null if the converter has no method for this plan)
+	 */
+	public final DynamicMethod method;
+	/**
+	 * The clazz of the outputs of this plan.
+	 */
+	public final Clazz outputClazz;
+	/**
+	 * The converter this plan is compiled for.
+	 */
+	private final AbstractConverter converter;
+	/**
+	 * The plans of the elements compiled so far.
+	 */
+	private final Map<Key, ConvertPlan> elements = new ConcurrentHashMap<>();
+
+	/**
+	 * Compile a new plan of converting the given input clazz to the given output clazz.
+	 *
+	 * @param converter   the converter to compile the plan for
+	 * @param inputClazz  the clazz of the inputs
+	 * @param outputClazz the clazz of the outputs
+	 * @throws NullPointerException if any of the given parameters is null
+	 */
+	public ConvertPlan(AbstractConverter converter, Clazz inputClazz, Clazz outputClazz) {
+		Objects.requireNonNull(converter, "converter");
+		Objects.requireNonNull(inputClazz, "inputClazz");
+		Objects.requireNonNull(outputClazz, "outputClazz");
+		this.converter = converter;
+		this.inputClazz = inputClazz;
+		this.outputClazz = outputClazz;
+		this.method = converter.resolveConvertMethod(inputClazz.getFamily(), outputClazz.getFamily());
+	}
+
+	/**
+	 * Convert the given input by walking this plan. Using the converter this plan is compiled for.
+	 *
+	 * @param input  the input to be converted
+	 * @param output the initial output (could be null)
+	 * @param <I>    the type of the input
+	 * @param <O>    the type of the output
+	 * @return the output
+	 * @throws ConvertException if any converting error occurred
+	 */
+	public <I, O> O convert(I input, O output) {
+		ConvertToken<I, O> token = new ConvertToken<>(input, output, this.inputClazz, this.outputClazz);
+		token.plan = this;
+		return this.converter.convert(token);
+	}
+
+	/**
+	 * Get the plan of converting the given element. Compile it if it is the first element of its kind.
+	 * <p>
+	 * Note: the kind of an element is the clazzes of its component (at the given tree and key) and the classes of it. So, elements with different
+	 * keys share the same plan as long as their components are the same.
+	 *
+	 * @param input  the input element
+	 * @param output the initial output element (could be null)
+	 * @param tree   the tree where the given element is located at its container
+	 * @param key    the key of the given element at its container (could be null)
+	 * @return the plan of converting the given element
+	 * @throws NullPointerException if the given 'input' is null
+	 */
+	public ConvertPlan element(Object input, Object output, int tree, Object key) {
+		Objects.requireNonNull(input, "input");
+
+		Clazz inputComponentClazz = this.inputClazz.getComponentClazz(tree, key);
+		Clazz outputComponentClazz = this.outputClazz.getComponentClazz(tree, key);
+		Key kind = new Key(inputComponentClazz, outputComponentClazz, input.getClass(), output == null ? null : output.getClass());
+		ConvertPlan plan = this.elements.get(kind);
+
+		if (plan == null)
+			plan = this.elements.computeIfAbsent(kind, k -> new ConvertPlan(
+					this.converter,
+					ConvertToken.elementClazz(inputComponentClazz, Clazz.ofi(input)),
+					ConvertToken.elementClazz(outputComponentClazz, output == null ? null : Clazz.ofi(output))
+			));
+
+		return plan;
+	}
+
+	/**
+	 * The kind of an element.
+	 */
+	private static final class Key {
+		/**
+		 * The component clazz of the input element. (null if none)
+		 */
+		final Clazz inputComponent;
+		/**
+		 * The component clazz of the output element. (null if none)
+		 */
+		final Clazz outputComponent;
+		/**
+		 * The class of the input element.
+		 */
+		final Class input;
+		/**
+		 * The class of the initial output element. (null if none)
+		 */
+		final Class output;
+
+		/**
+		 * Construct a new kind of elements.
+		 *
+		 * @param inputComponent  the component clazz of the input element
+		 * @param outputComponent the component clazz of the output element
+		 * @param input           the class of the input element
+		 * @param output          the class of the initial output element
+		 */
+		Key(Clazz inputComponent, Clazz outputComponent, Class input, Class output) {
+			this.inputComponent = inputComponent;
+			this.outputComponent = outputComponent;
+			this.input = input;
+			this.output = output;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Key))
+				return false;
+
+			Key key = (Key) object;
+			return this.input == key.input &&
+				   this.output == key.output &&
+				   Objects.equals(this.inputComponent, key.inputComponent) &&
+				   Objects.equals(this.outputComponent, key.outputComponent);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((System.identityHashCode(this.input) * 31 + System.identityHashCode(this.output)) * 31 +
+					Objects.hashCode(this.inputComponent)) * 31 + Objects.hashCode(this.outputComponent);
+		}
+	}
+}
@@ -16,6 +16,7 @@
 package cufy.convert;
 
 import cufy.lang.Clazz;
+import cufy.util.OverlayMap;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -53,10 +54,6 @@ import java.util.Objects;
  * @since 30-Mar-2020
  */
 public class ConvertToken<I, O> {
-	/**
-	 * The data of THIS token.
-	 */
-	public final Map data = new HashMap();
 	/**
 	 * The depth of this token form the first parent.
 	 */
@@ -66,9 +63,9 @@ public class ConvertToken<I, O> {
 	 */
 	public final I input;
 	/**
-	 * A table of data to be copied from this token to it is sub-tokens.
+	 * A table of data to be copied from this token to it is sub-tokens. (copied in constant time, the sub-tokens share the structure of this table)
 	 */
-	public final Map linear;
+	public final OverlayMap linear;
 	/**
 	 * The convert-token for the conversion that required initializing this token.
 	 */
@@ -89,6 +86,14 @@ public class ConvertToken<I, O> {
 	 * The class that the output should have.
 	 */
 	public Clazz<O> outputClazz;
+	/**
+	 * The compiled plan of this conversion. (null if this conversion has no plan)
+	 */
+	public ConvertPlan plan;
+	/**
+	 * The data of THIS token. (null until the first call to {@link #getData()})
+	 */
+	private Map data;
 
 	/**
 	 * Construct a new conversion token instance.
@@ -104,7 +109,7 @@ public class ConvertToken<I, O> {
 		Objects.requireNonNull(outputClazz, "outputClazz");
 
 		this.parent = null;
-		this.linear = new HashMap();
+		this.linear = new OverlayMap();
 		this.tree = new HashMap();
 		this.depth = 0;
 		this.input = input;
@@ -129,7 +134,7 @@ public class ConvertToken<I, O> {
 		Objects.requireNonNull(outputClazz, "outputClazz");
 
 		this.parent = parent;
-		this.linear = new HashMap(parent.linear);
+		this.linear = parent.linear.fork();
 		this.tree = parent.tree;
 		this.depth = parent.depth + 1;
 		this.input = input;
@@ -138,6 +143,56 @@ public class ConvertToken<I, O> {
 		this.outputClazz = outputClazz;
 	}
 
+	/**
+	 * Get the data of THIS token. Allocate it if this is the first call.
+	 *
+	 * @return the data of this token
+	 */
+	public Map getData() {
+		Map data = this.data;
+
+		if (data == null)
+			this.data = data = new HashMap();
+
+		return data;
+	}
+
+	/**
+	 * Get the value of the given key at the data of THIS token. Without allocating the data of this token.
+	 *
+	 * @param key the key of the value
+	 * @return the value of the given key at the data of this token. Or null if it has no such value
+	 */
+	public Object getData(Object key) {
+		Map data = this.data;
+		return data == null ? null : data.get(key);
+	}
+
+	/**
+	 * Get the clazz of an element. From the clazz the container declares for its components and the clazz of the element itself. (see {@link
+	 * #subToken(Object, Object, Clazz, Clazz, int, Object)} for the details)
+	 *
+	 * @param componentClazz the clazz the container declares for the element. (could be null)
+	 * @param elementClazz   the clazz of the element. (could be null)
+	 * @return the clazz of the element
+	 */
+	public static Clazz elementClazz(Clazz componentClazz, Clazz elementClazz) {
+		return componentClazz == null ?
+			   elementClazz == null ?
+			   //if both componentClazz and elementClazz are null
+			   Clazz.of() :
+			   //if componentClazz is null
+			   elementClazz :
+			   elementClazz != null ?
+			   componentClazz.isAssignableFrom(elementClazz) ?
+			   //if componentClazz is assignable from elementClazz
+			   Clazz.ofz(elementClazz, elementClazz, componentClazz) :
+			   //if componentClazz isn't assignable from elementClazz
+			   Clazz.ofz(componentClazz, elementClazz, componentClazz) :
+			   //if elementClazz is null
+			   componentClazz;
+	}
+
 	/**
 	 * Get a sub token of this token with the given parameters.
 	 *
@@ -198,39 +253,9 @@ public class ConvertToken<I, O> {
 	 * @return a sub token of this token.
 	 */
 	public <V, W> ConvertToken<V, W> subToken(V input, W output, Clazz inputClazz, Clazz outputClazz, int tree, Object key) {
-		Clazz inputComponentClazz = this.inputClazz.getComponentClazz(tree, key);
-		Clazz outputComponentClazz = this.outputClazz.getComponentClazz(tree, key);
 		return this.subToken(input, output,
-				//INPUT --------------------------------------------------------
-				inputComponentClazz == null ?
-				inputClazz == null ?
-				//if both inputComponentClazz and inputClazz are null
-				Clazz.of() :
-				//if inputComponentClazz is null
-				inputClazz :
-				inputClazz != null ?
-				inputComponentClazz.isAssignableFrom(inputClazz) ?
-				//if inputComponentClazz is assignable from inputClazz
-				Clazz.ofz(inputClazz, inputClazz, inputComponentClazz) :
-				//if inputComponentClazz isn't assignable from inputClazz
-				Clazz.ofz(inputComponentClazz, inputClazz, inputComponentClazz) :
-				//if inputClazz is null
-				inputComponentClazz,
-				//OUTPUT -------------------------------------------------------
-				outputComponentClazz == null ?
-				outputClazz == null ?
-				//if both outputComponentClazz and outputClazz are null
-				Clazz.of() :
-				//if outputComponentClazz is null
-				outputClazz :
-				outputClazz != null ?
-				outputComponentClazz.isAssignableFrom(outputClazz) ?
-				//if outputComponentClazz is assignable from outputClazz
-				Clazz.ofz(outputClazz, outputClazz, outputComponentClazz) :
-				//if outputComponentClazz isn't assignable from outputClazz
-				Clazz.ofz(outputComponentClazz, outputClazz, outputComponentClazz) :
-				//if outputClazz is null
-				outputComponentClazz
+				ConvertToken.elementClazz(this.inputClazz.getComponentClazz(tree, key), inputClazz),
+				ConvertToken.elementClazz(this.outputClazz.getComponentClazz(tree, key), outputClazz)
 		);
 	}
 }
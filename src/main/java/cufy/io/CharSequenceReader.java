@@ -0,0 +1,174 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * A reader that reads a range of a {@link CharSequence} (or a {@code char[]}) directly. Without copying it. Supports {@link #mark} and {@link
+ * #reset()} with no read limit.
+ * <p>
+ * Note: the sequence should not be modified while it is being read. Also, this reader is not thread-safe.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public class CharSequenceReader extends Reader {
+	/**
+	 * The end of the range to be read. (exclusive)
+	 */
+	protected final int end;
+	/**
+	 * The sequence to read from.
+	 */
+	protected CharSequence sequence;
+	/**
+	 * The marked position.
+	 */
+	protected int mark;
+	/**
+	 * The position of the next character to be read.
+	 */
+	protected int position;
+
+	/**
+	 * Construct a new reader that reads the given sequence.
+	 *
+	 * @param sequence the sequence to read
+	 * @throws NullPointerException if the given 'sequence' is null
+	 */
+	public CharSequenceReader(CharSequence sequence) {
+		this(sequence, 0, Objects.requireNonNull(sequence, "sequence").length());
+	}
+
+	/**
+	 * Construct a new reader that reads the given range of the given sequence.
+	 *
+	 * @param sequence the sequence to read
+	 * @param start    the start of the range to be read (inclusive)
+	 * @param end      the end of the range to be read (exclusive)
+	 * @throws NullPointerException      if the given 'sequence' is null
+	 * @throws IndexOutOfBoundsException if the given range is out of the bounds of the given 'sequence'
+	 */
+	public CharSequenceReader(CharSequence sequence, int start, int end) {
+		Objects.requireNonNull(sequence, "sequence");
+		if (start < 0 || end < start || sequence.length() < end)
+			throw new IndexOutOfBoundsException();
+		this.sequence = sequence;
+		this.position = start;
+		this.mark = start;
+		this.end = end;
+	}
+
+	/**
+	 * Construct a new reader that reads the given range of the given array.
+	 *
+	 * @param chars  the array to read
+	 * @param offset the start of the range to be read
+	 * @param length the length of the range to be read
+	 * @throws NullPointerException      if the given 'chars' is null
+	 * @throws IndexOutOfBoundsException if the given range is out of the bounds of the given 'chars'
+	 */
+	public CharSequenceReader(char[] chars, int offset, int length) {
+		this(CharBuffer.wrap(chars), offset, offset + length);
+	}
+
+	@Override
+	public void close() {
+		this.sequence = null;
+	}
+
+	@Override
+	public void mark(int readAheadLimit) throws IOException {
+		this.ensureOpen();
+		this.mark = this.position;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		this.ensureOpen();
+		return this.position < this.end ? this.sequence.charAt(this.position++) : -1;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		Objects.requireNonNull(cbuf, "cbuf");
+		if (off < 0 || len < 0 || cbuf.length - off < len)
+			throw new IndexOutOfBoundsException();
+		this.ensureOpen();
+
+		if (len == 0)
+			return 0;
+		if (this.position >= this.end)
+			return -1;
+
+		int length = Math.min(len, this.end - this.position);
+
+		if (this.sequence instanceof String)
+			((String) this.sequence).getChars(this.position, this.position + length, cbuf, off);
+		else if (this.sequence instanceof StringBuilder)
+			((StringBuilder) this.sequence).getChars(this.position, this.position + length, cbuf, off);
+		else
+			for (int i = 0; i < length; i++)
+				cbuf[off + i] = this.sequence.charAt(this.position + i);
+
+		this.position += length;
+		return length;
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		this.ensureOpen();
+		return true;
+	}
+
+	@Override
+	public void reset() throws IOException {
+		this.ensureOpen();
+		this.position = this.mark;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		this.ensureOpen();
+
+		if (n <= 0)
+			return 0;
+
+		int skipped = (int) Math.min(n, this.end - this.position);
+		this.position += skipped;
+		return skipped;
+	}
+
+	/**
+	 * Check that this reader is not closed.
+	 *
+	 * @throws IOException if this reader is closed
+	 */
+	private void ensureOpen() throws IOException {
+		if (this.sequence == null)
+			throw new IOException("Stream closed");
+	}
+}
@@ -0,0 +1,335 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+/**
+ * A reader that reads ahead from another reader on a background task. The task (run by a given executor) fills a bounded ring of large buffers.
+ * While the thread using this reader consumes them. So, the latency of the I/O of the other reader is overlapped with the processing of the characters read.
+ * <p>
+ * Note: this reader does not support {@link #mark}. Wrap it with a {@link BufferedReader} for that. Also, this reader should be used by one thread at
+ * a time. And it should be closed to release the background task (it is released anyway when the other reader reaches its end). The task is worth
+ * its overhead only for large sources.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public class ReadAheadReader extends Reader {
+	/**
+	 * The default length of each buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	/**
+	 * The default number of buffers.
+	 */
+	public static final int DEFAULT_BUFFERS = 4;
+
+	/**
+	 * The buffers that are filled and waiting to be consumed. (in order)
+	 */
+	protected final BlockingQueue<Chunk> full;
+	/**
+	 * The buffers that are consumed and waiting to be filled.
+	 */
+	protected final BlockingQueue<char[]> free;
+	/**
+	 * The reader to read ahead from.
+	 */
+	protected final Reader reader;
+	/**
+	 * Counted down when the background task ends.
+	 */
+	protected final CountDownLatch done = new CountDownLatch(1);
+	/**
+	 * True, if this reader has been closed.
+	 */
+	protected volatile boolean closed;
+	/**
+	 * The thread running the background task. (null if the task is not running)
+	 */
+	protected Thread thread;
+	/**
+	 * The buffer being consumed. (null if none)
+	 */
+	protected Chunk chunk;
+	/**
+	 * The position of the next character to be read from the buffer being consumed.
+	 */
+	protected int position;
+
+	/**
+	 * Construct a new reader that reads ahead from the given reader on the given executor. Using the default buffers.
+	 *
+	 * @param reader   the reader to read ahead from
+	 * @param executor the executor to run the background task on
+	 * @throws NullPointerException                            if the given 'reader' or 'executor' is null
+	 * @throws java.util.concurrent.RejectedExecutionException if the given executor rejected the background task
+	 */
+	public ReadAheadReader(Reader reader, Executor executor) {
+		this(reader, executor, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFERS);
+	}
+
+	/**
+	 * Construct a new reader that reads ahead from the given reader on the given executor.
+	 *
+	 * @param reader     the reader to read ahead from
+	 * @param executor   the executor to run the background task on
+	 * @param bufferSize the length of each buffer
+	 * @param buffers    the number of buffers (the maximum number of buffers read ahead)
+	 * @throws NullPointerException                            if the given 'reader' or 'executor' is null
+	 * @throws IllegalArgumentException                        if the given 'bufferSize' or 'buffers' is less than 1
+	 * @throws java.util.concurrent.RejectedExecutionException if the given executor rejected the background task
+	 */
+	public ReadAheadReader(Reader reader, Executor executor, int bufferSize, int buffers) {
+		Objects.requireNonNull(reader, "reader");
+		Objects.requireNonNull(executor, "executor");
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize < 1");
+		if (buffers < 1)
+			throw new IllegalArgumentException("buffers < 1");
+
+		this.reader = reader;
+		//one extra slot for the end (or error) chunk
+		this.full = new ArrayBlockingQueue<>(buffers + 1);
+		this.free = new ArrayBlockingQueue<>(buffers);
+
+		for (int i = 0; i < buffers; i++)
+			this.free.add(new char[bufferSize]);
+
+		executor.execute(this::fill);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.closed)
+			return;
+
+		this.closed = true;
+		this.chunk = null;
+
+		try {
+			//unblock the task if it is blocked reading the other reader
+			this.reader.close();
+		} finally {
+			boolean running;
+			synchronized (this.done) {
+				running = this.thread != null;
+
+				if (running)
+					this.thread.interrupt();
+			}
+
+			if (running)
+				try {
+					this.done.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+
+			this.full.clear();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		return this.next() ? this.chunk.chars[this.position++] : -1;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		Objects.requireNonNull(cbuf, "cbuf");
+		if (off < 0 || len < 0 || cbuf.length - off < len)
+			throw new IndexOutOfBoundsException();
+
+		if (len == 0)
+			return 0;
+
+		int read = 0;
+
+		//don't block (or fail) for more characters if some were copied
+		while (read < len && (read == 0 || this.available()) && this.next()) {
+			int length = Math.min(len - read, this.chunk.length - this.position);
+			System.arraycopy(this.chunk.chars, this.position, cbuf, off + read, length);
+			this.position += length;
+			read += length;
+		}
+
+		return read == 0 ? -1 : read;
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		this.ensureOpen();
+		return this.available() || this.chunk != null && this.chunk.length < 0 || !this.full.isEmpty();
+	}
+
+	/**
+	 * Determine if there are characters that can be read without blocking.
+	 *
+	 * @return true, if the buffer being consumed or the next filled buffer has characters to be read
+	 */
+	protected boolean available() {
+		Chunk next = this.full.peek();
+		return this.chunk != null && this.position < this.chunk.length || next != null && next.length > 0;
+	}
+
+	/**
+	 * Read the other reader into the free buffers. Then queue them to be consumed. Until the other reader ends, fails or this reader is closed. (the
+	 * background task)
+	 */
+	protected void fill() {
+		synchronized (this.done) {
+			if (this.closed) {
+				//closed before the task started
+				this.done.countDown();
+				return;
+			}
+
+			this.thread = Thread.currentThread();
+		}
+
+		try {
+			this.fill0();
+		} finally {
+			synchronized (this.done) {
+				this.thread = null;
+				//don't leak the interrupt of close() to the next task of the executor
+				Thread.interrupted();
+			}
+
+			this.done.countDown();
+		}
+	}
+
+	/**
+	 * The loop of {@link #fill()}.
+	 */
+	protected void fill0() {
+		Chunk last;
+
+		try {
+			while (!this.closed) {
+				char[] chars = this.free.take();
+				int length = this.reader.read(chars, 0, chars.length);
+
+				if (length < 0) {
+					last = new Chunk(null, -1, null);
+					break;
+				}
+
+				this.full.put(new Chunk(chars, length, null));
+			}
+
+			//closed
+			return;
+		} catch (InterruptedException | InterruptedIOException e) {
+			//closed
+			return;
+		} catch (IOException | RuntimeException e) {
+			last = new Chunk(null, -1, e);
+		}
+
+		if (!this.closed)
+			//never blocks (there is a slot reserved for it)
+			this.full.offer(last);
+	}
+
+	/**
+	 * Make sure there is a character to be read on the buffer being consumed. Waiting for the next buffer if necessary.
+	 *
+	 * @return true, if there is a character to be read. False, if the other reader reached its end
+	 * @throws IOException if this reader is closed. Or if reading the other reader failed
+	 */
+	protected boolean next() throws IOException {
+		this.ensureOpen();
+
+		while (this.chunk == null || this.position >= this.chunk.length) {
+			if (this.chunk != null) {
+				if (this.chunk.length < 0) {
+					if (this.chunk.error instanceof IOException)
+						throw new IOException(this.chunk.error.getMessage(), this.chunk.error);
+					if (this.chunk.error != null)
+						throw (RuntimeException) this.chunk.error;
+
+					return false;
+				}
+
+				//recycle the consumed buffer
+				this.free.offer(this.chunk.chars);
+			}
+
+			try {
+				this.chunk = this.full.take();
+				this.position = 0;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted while waiting for the next buffer");
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Check that this reader is not closed.
+	 *
+	 * @throws IOException if this reader is closed
+	 */
+	private void ensureOpen() throws IOException {
+		if (this.closed)
+			throw new IOException("Stream closed");
+	}
+
+	/**
+	 * A filled buffer. Or the end of the other reader.
+	 */
+	protected static final class Chunk {
+		/**
+		 * The characters of this chunk. (null for the end)
+		 */
+		final char[] chars;
+		/**
+		 * The error the other reader has thrown. (null if none)
+		 */
+		final Exception error;
+		/**
+		 * The number of characters filled. (-1 for the end)
+		 */
+		final int length;
+
+		/**
+		 * Construct a new chunk.
+		 *
+		 * @param chars  the characters of the chunk
+		 * @param length the number of characters filled
+		 * @param error  the error the other reader has thrown
+		 */
+		Chunk(char[] chars, int length, Exception error) {
+			this.chars = chars;
+			this.length = length;
+			this.error = error;
+		}
+	}
+}
@@ -71,6 +71,11 @@ public interface FileLoadable extends Loadable {
 		return ctrl;
 	}
 
+	@Override
+	default long getLength() {
+		return this.getFile().length();
+	}
+
 	@Override
 	default InputStream getInputStream() throws IOException {
 		InputStream base = new FileInputStream(this.getFile());
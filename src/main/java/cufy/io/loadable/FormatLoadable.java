@@ -16,6 +16,9 @@
 package cufy.io.loadable;
 
 import cufy.concurrent.Instructor;
+import cufy.concurrent.Once;
+import cufy.io.BufferedReader;
+import cufy.io.ReadAheadReader;
 import cufy.lang.Clazz;
 import cufy.text.Format;
 import cufy.text.FormatToken;
@@ -24,25 +27,63 @@ import cufy.text.ParseToken;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * An object that can be loaded from a container. And that container provides an unformatted data that requires that loadable to format it.
+ * <p>
+ * Note: a large source (at least {@link #READ_AHEAD_THRESHOLD} long) is read ahead on the executor of this loadable (see {@link
+ * ReadAheadReader}) while it is being parsed. If this loadable has an executor.
  *
  * @author lsafer
  * @version 0.1.3
  * @since 13-Feb-2020
  */
 public interface FormatLoadable extends Loadable {
+	/**
+	 * The minimum length (in bytes, see {@link #getLength()}) of a source to be read ahead. (smaller sources are read on the loading thread)
+	 */
+	long READ_AHEAD_THRESHOLD = 1024 * 1024;
+
 	@Override
 	default void load() throws IOException {
-		try (Reader reader = this.getReader()) {
-			this.getFormat().parse(new ParseToken<>(reader, this, Clazz.ofi(this)));
+		Executor executor = this.getExecutor();
+		boolean ahead = executor != null && this.getLength() >= READ_AHEAD_THRESHOLD;
+
+		try (Reader source = this.getReader();
+			 Reader reader = ahead ? Util.readAhead(source, executor) : source) {
+			Util.parse(this, reader);
 		}
 	}
 	@Override
 	default void load(Instructor instructor) throws IOException {
-		try (Reader reader = this.getReader(instructor)) {
-			this.getFormat().parse(new ParseToken<>(reader, this, Clazz.ofi(this)));
+		Objects.requireNonNull(instructor, "instructor");
+		Executor executor = this.getExecutor();
+		boolean ahead = executor != null && this.getLength() >= READ_AHEAD_THRESHOLD;
+
+		//the read-ahead is started by a loop of the instructor (if the instructor refuses to start it, the source is read on this thread)
+		Executor loop = command -> {
+			boolean[] executed = {false};
+
+			instructor.start(new Once(once -> {
+				try {
+					executor.execute(command);
+					executed[0] = true;
+				} catch (RejectedExecutionException ignored) {
+					//the executor refused it
+				}
+			}));
+
+			if (!executed[0])
+				throw new RejectedExecutionException("The read-ahead has not been started");
+		};
+
+		try (Reader source = this.getReader(instructor);
+			 Reader reader = ahead ? Util.readAhead(source, loop) : source) {
+			Util.parse(this, reader);
 		}
 	}
 
@@ -59,10 +100,88 @@ public interface FormatLoadable extends Loadable {
 		}
 	}
 
+	/**
+	 * Get the executor to read ahead the sources of this loadable on. Sources shorter than {@link #READ_AHEAD_THRESHOLD} (or with unknown length) are
+	 * never read ahead.
+	 *
+	 * @return the executor of this loadable. Or null to never read ahead (default)
+	 */
+	default Executor getExecutor() {
+		return null;
+	}
+
 	/**
 	 * Get the format used to parse/format the source of this loadable.
 	 *
 	 * @return the format of this loadable
 	 */
 	Format getFormat();
+
+	/**
+	 * Get the table that remembers the regions of the source parsed by the last load of this loadable. Formats supporting it (like {@link
+	 * cufy.text.json.JSON}) will only re-parse the regions that have changed since the last load, and keep the values of the unchanged regions.
+	 * <p>
+	 * To enable it, override this method to return the same {@link java.util.IdentityHashMap} on every call. The table is owned by this loadable
+	 * and managed by the format.
+	 * <p>
+	 * Note: a region is only kept if its source have the same length and hash as on the last load, and its value have not been modified since. The
+	 * table holds the value and the hash of the source of every remembered region (the regions of nested values included). Formats might reject a
+	 * table that is not an {@link java.util.IdentityHashMap}.
+	 *
+	 * @return the regions table of this loadable. Or null to always parse the whole source (default)
+	 */
+	default Map getRegions() {
+		return null;
+	}
+
+	/**
+	 * Utilities for format loadables.
+	 */
+	final class Util {
+		/**
+		 * This is an util class and must not be instanced as an object.
+		 *
+		 * @throws AssertionError when called.
+		 */
+		private Util() {
+			throw new AssertionError("No instance for you!");
+		}
+
+		/**
+		 * Get a reader that reads ahead from the given reader on the given executor. Or the given reader itself if the given executor rejected the
+		 * background task. (so, the given reader is read synchronously)
+		 *
+		 * @param reader   the reader to read ahead from
+		 * @param executor the executor to run the background task on
+		 * @return a reader that reads ahead from the given reader. Or the given reader
+		 * @throws NullPointerException if the given 'reader' or 'executor' is null
+		 */
+		public static Reader readAhead(Reader reader, Executor executor) {
+			try {
+				return new BufferedReader(new ReadAheadReader(reader, executor));
+			} catch (RejectedExecutionException e) {
+				return reader;
+			}
+		}
+
+		/**
+		 * Parse the source read from the given reader into the given loadable. Using the format and the regions table of the given loadable.
+		 *
+		 * @param loadable the loadable to parse into
+		 * @param reader   the reader to read the source from
+		 * @throws IOException          if any I/O exception occurs
+		 * @throws NullPointerException if the given 'loadable' or 'reader' is null
+		 */
+		public static void parse(FormatLoadable loadable, Reader reader) throws IOException {
+			Objects.requireNonNull(loadable, "loadable");
+			Objects.requireNonNull(reader, "reader");
+			ParseToken token = new ParseToken<>(reader, loadable, Clazz.ofi(loadable));
+			Map regions = loadable.getRegions();
+
+			if (regions != null)
+				token.tree.put("regions", regions);
+
+			loadable.getFormat().parse(token);
+		}
+	}
 }
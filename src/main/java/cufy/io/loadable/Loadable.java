@@ -77,6 +77,17 @@ public interface Loadable {
 		return new RemoteWriter(instructor, this.getWriter());
 	}
 
+	/**
+	 * Get the length (in bytes) of the source of this loadable.
+	 * <p>
+	 * Note: this should be cheap (it should not open the source). Since it could be called before every load.
+	 *
+	 * @return the length (in bytes) of the source of this loadable. Or -1 if it is unknown (default)
+	 */
+	default long getLength() {
+		return -1;
+	}
+
 	/**
 	 * Get a new, unused input stream from the container of this loadable.
 	 *
@@ -21,6 +21,7 @@ import cufy.io.BufferedReader;
 import cufy.io.*;
 
 import java.io.*;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Objects;
@@ -93,6 +94,27 @@ public interface URLLoadable extends Loadable {
 		return ctrl;
 	}
 
+	/**
+	 * Get the length of the source of this loadable. Only if the url is a file url (without opening it). Other urls can't tell their length without
+	 * opening a connection. So, their length is unknown.
+	 *
+	 * @return the length (in bytes) of the source of this loadable. Or -1 if it is unknown (or the url is not a file url)
+	 */
+	@Override
+	default long getLength() {
+		URL url = this.getURL();
+
+		if (!"file".equalsIgnoreCase(url.getProtocol()))
+			return -1;
+
+		try {
+			File file = new File(url.toURI());
+			return file.isFile() ? file.length() : -1;
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return -1;
+		}
+	}
+
 	@Override
 	default InputStream getInputStream() throws IOException {
 		URLConnection connection = this.getURL().openConnection();
@@ -18,16 +18,25 @@ package cufy.text;
 import cufy.lang.Clazz;
 import cufy.meta.Filter;
 import cufy.util.Collectionz;
+import cufy.util.DynamicMethod;
 import cufy.util.Group;
 import cufy.util.HashGroup;
+import cufy.util.LazyGroup;
 import cufy.util.Reflection;
+import cufy.util.Tracer;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract class for formatter classes. Used to simplify the formatting processes and make it more inheritable. Also making the inheriting for
@@ -48,22 +57,156 @@ import java.util.Objects;
  */
 public abstract class AbstractFormat implements Format {
 	/**
-	 * The dynamic methods of this class.
+	 * The method type of the {@link ClassifyMethod} handles.
 	 */
-	protected final Group<Method> methods = Collectionz.unmodifiableGroup(new HashGroup<>(Reflection.getAllMethods(this.getClass())));
+	private static final MethodType CLASSIFY_TYPE = MethodType.methodType(boolean.class, AbstractFormat.class, ClassifyToken.class);
+	/**
+	 * The method type of the {@link FormatMethod} handles.
+	 */
+	private static final MethodType FORMAT_TYPE = MethodType.methodType(void.class, AbstractFormat.class, FormatToken.class);
+	/**
+	 * The method type of the {@link ParseMethod} handles.
+	 */
+	private static final MethodType PARSE_TYPE = MethodType.methodType(void.class, AbstractFormat.class, ParseToken.class);
+
+	/**
+	 * The dynamic methods of each class. Looked up once per class from the dispatch table generated for it at build time (or scanned if it has no
+	 * table). Then shared between all the instances of that class.
+	 *
+	 * @see Reflection#getDispatchTable(Class)
+	 */
+	private static final ClassValue<Group<Method>> DYNAMIC_METHODS = new ClassValue<Group<Method>>() {
+		@Override
+		protected Group<Method> computeValue(Class<?> type) {
+			return AbstractFormat.dynamicMethods(type, false);
+		}
+	};
+	/**
+	 * If each class overrides any of the hooks that take or return a bare {@link Method}. ({@link #getClassifyMethods()}, {@link
+	 * #getFormatMethod(Class)}, {@link #getParseMethod(Class)}, {@link #classify0(Method, ClassifyToken)}, {@link #format0(Method, FormatToken)} or
+	 * {@link #parse0(Method, ParseToken)})
+	 */
+	private static final ClassValue<Boolean> HOOKED = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class klass = type; klass != AbstractFormat.class; klass = klass.getSuperclass())
+				if (AbstractFormat.declares(klass, "getClassifyMethods") ||
+					AbstractFormat.declares(klass, "getFormatMethod", Class.class) ||
+					AbstractFormat.declares(klass, "getParseMethod", Class.class) ||
+					AbstractFormat.declares(klass, "classify0", Method.class, ClassifyToken.class) ||
+					AbstractFormat.declares(klass, "format0", Method.class, FormatToken.class) ||
+					AbstractFormat.declares(klass, "parse0", Method.class, ParseToken.class))
+					return true;
+
+			return false;
+		}
+	};
+	/**
+	 * The methods of each class. Scanned once per class (the first time the methods of the class are accessed). Then shared between all the instances
+	 * of that class.
+	 *
+	 * @see Reflection#getAllMethods(Class)
+	 */
+	private static final ClassValue<Group<Method>> METHODS = new ClassValue<Group<Method>>() {
+		@Override
+		protected Group<Method> computeValue(Class<?> type) {
+			return Collectionz.unmodifiableGroup(new HashGroup<>(Reflection.getAllMethods(type)));
+		}
+	};
+	/**
+	 * The dynamic methods of each class. Like {@link #DYNAMIC_METHODS}. But the dispatch table of the class is verified against the methods the
+	 * classes declare. (used by the formats in a debugging mode)
+	 *
+	 * @see Reflection#getDispatchTable(Class, boolean)
+	 */
+	private static final ClassValue<Group<Method>> VERIFIED_DYNAMIC_METHODS = new ClassValue<Group<Method>>() {
+		@Override
+		protected Group<Method> computeValue(Class<?> type) {
+			return AbstractFormat.dynamicMethods(type, true);
+		}
+	};
+
+	/**
+	 * The dynamic methods of this class. Only the methods annotated with {@link ClassifyMethod}, {@link FormatMethod} or {@link ParseMethod}.
+	 * (shared between all the instances of this class)
+	 */
+	protected final Group<Method> dynamicMethods;
+	/**
+	 * The methods of this class. (scanned the first time it is accessed)
+	 */
+	protected final Group<Method> methods = new LazyGroup<>(() -> METHODS.get(this.getClass()));
+
+	/**
+	 * The {@link ClassifyMethod}s of this resolved. (null until the first classification)
+	 */
+	protected volatile List<DynamicMethod> classifyMethodCache;
+	/**
+	 * The {@link FormatMethod} resolved for each class (empty if the class have no format method). A class value. So, the classes (and their loaders)
+	 * are not held by this.
+	 */
+	protected final ClassValue<Optional<DynamicMethod>> formatMethodCache = new ClassValue<Optional<DynamicMethod>>() {
+		@Override
+		protected Optional<DynamicMethod> computeValue(Class<?> type) {
+			Method found = AbstractFormat.this.findFormatMethod(type);
+			return Optional.ofNullable(found == null ? null : AbstractFormat.this.resolve(found, FORMAT_TYPE));
+		}
+	};
+	/**
+	 * The {@link ParseMethod} resolved for each class (empty if the class have no parse method). A class value. So, the classes (and their loaders)
+	 * are not held by this.
+	 */
+	protected final ClassValue<Optional<DynamicMethod>> parseMethodCache = new ClassValue<Optional<DynamicMethod>>() {
+		@Override
+		protected Optional<DynamicMethod> computeValue(Class<?> type) {
+			Method found = AbstractFormat.this.findParseMethod(type);
+			return Optional.ofNullable(found == null ? null : AbstractFormat.this.resolve(found, PARSE_TYPE));
+		}
+	};
+	/**
+	 * The handle resolved for each dynamic method invoked by this.
+	 */
+	protected final Map<Method, DynamicMethod> resolvedMethods = new ConcurrentHashMap<>();
+	/**
+	 * The tracer recording the cost of the format and parse methods of this. (null to disable tracing)
+	 */
+	protected volatile Tracer tracer;
 	/**
 	 * If this class in a debugging mode or not. if this set to false all null-checks and type-checks should not be executed at runtime.
 	 */
-	protected boolean DEBUGGING = false;
+	protected final boolean DEBUGGING;
+
+	/**
+	 * Construct a new format that is not in a debugging mode.
+	 */
+	protected AbstractFormat() {
+		this(false);
+	}
+
+	/**
+	 * Construct a new format.
+	 *
+	 * @param debugging if the new format should be in a debugging mode
+	 */
+	protected AbstractFormat(boolean debugging) {
+		this.DEBUGGING = debugging;
+		this.dynamicMethods = (debugging ? VERIFIED_DYNAMIC_METHODS : DYNAMIC_METHODS).get(this.getClass());
+	}
 
 	@Override
 	public <T> Clazz<T> classify(ClassifyToken<T> token) throws IOException {
 		Objects.requireNonNull(token, "token");
 
 		if (this.classifyPre(token)) {
-			for (Method method : this.getClassifyMethods())
-				if (this.classify0(method, token))
-					return token.output;
+			if (this.isHooked()) {
+				//through the overridden hooks
+				for (Method method : this.getClassifyMethods())
+					if (this.classify0(method, token))
+						return token.output;
+			} else {
+				for (DynamicMethod method : this.resolveClassifyMethods())
+					if (this.classify0(method, token))
+						return token.output;
+			}
 
 			if (token.output == null)
 				this.classifyElse(token);
@@ -77,11 +220,20 @@ public abstract class AbstractFormat implements Format {
 		Objects.requireNonNull(token, "token");
 
 		if (this.formatPre(token)) {
-			Method method = this.getFormatMethod(token.klazz.getFamily());
+			if (this.isHooked()) {
+				//through the overridden hooks
+				Method method = this.getFormatMethod(token.klazz.getFamily());
 
-			if (method == null)
-				this.formatElse(token);
-			else this.format0(method, token);
+				if (method == null)
+					this.formatElse(token);
+				else this.format0(method, token);
+			} else {
+				DynamicMethod method = this.resolveFormatMethod(token.klazz.getFamily());
+
+				if (method == null)
+					this.formatElse(token);
+				else this.format0(method, token);
+			}
 		}
 
 		return token.output;
@@ -92,18 +244,47 @@ public abstract class AbstractFormat implements Format {
 		Objects.requireNonNull(token, "token");
 
 		if (this.parsePre(token)) {
-			Method method = this.getParseMethod(token.klazz.getFamily());
+			if (this.isHooked()) {
+				//through the overridden hooks
+				Method method = this.getParseMethod(token.klazz.getFamily());
+
+				if (method == null)
+					this.parseElse(token);
+				else this.parse0(method, token);
+			} else {
+				DynamicMethod method = this.resolveParseMethod(token.klazz.getFamily());
 
-			if (method == null)
-				this.parseElse(token);
-			else this.parse0(method, token);
+				if (method == null)
+					this.parseElse(token);
+				else this.parse0(method, token);
+			}
 		}
 
 		return token.output;
 	}
 
+	/**
+	 * Get the tracer recording the cost of the format and parse methods of this.
+	 *
+	 * @return the tracer of this. Or null if tracing is disabled
+	 */
+	public Tracer getTracer() {
+		return this.tracer;
+	}
+
+	/**
+	 * Set the tracer to record the cost of the format and parse methods of this. Tracing costs nothing while disabled.
+	 *
+	 * @param tracer the tracer to be set. Or null to disable tracing
+	 */
+	public void setTracer(Tracer tracer) {
+		this.tracer = tracer;
+	}
+
 	/**
 	 * Invoke the given {@link ClassifyMethod} with the given parameters.
+	 * <p>
+	 * Note: the handle of the given method is resolved once. Then cached for the next calls.
 	 *
 	 * @param method to be invoked
 	 * @param token  the classification instance that holds the variables of this classification
@@ -114,18 +295,29 @@ public abstract class AbstractFormat implements Format {
 	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
 	 */
 	protected boolean classify0(Method method, ClassifyToken token) throws IOException {
+		Objects.requireNonNull(method, "method");
+		return this.classify0(this.resolve(method, CLASSIFY_TYPE), token);
+	}
+
+	/**
+	 * Invoke the given resolved {@link ClassifyMethod} with the given parameters.
+	 *
+	 * @param method to be invoked
+	 * @param token  the classification instance that holds the variables of this classification
+	 * @return if the invoked method successfully classified the input and no need for further classifications
+	 * @throws IOException          if any I/O exception occurs
+	 * @throws NullPointerException if the given 'token' or 'method' is null
+	 * @throws ClassifyException    if any classifying exception occurs
+	 */
+	protected boolean classify0(DynamicMethod method, ClassifyToken token) throws IOException {
 		if (DEBUGGING) {
 			Objects.requireNonNull(method, "method");
 			Objects.requireNonNull(token, "token");
 		}
 
 		try {
-			method.setAccessible(true);
-			return (boolean) method.invoke(this, token);
-		} catch (IllegalAccessException e) {
-			throw new IllegalArgumentException(method + " have limited access", e);
-		} catch (InvocationTargetException e) {
-			Throwable cause = e.getCause();
+			return (boolean) method.handle.invokeExact(this, token);
+		} catch (Throwable cause) {
 			if (cause instanceof IOException) {
 				throw (IOException) cause;
 			} else if (cause instanceof ParseException) {
@@ -167,8 +359,80 @@ public abstract class AbstractFormat implements Format {
 		return true;
 	}
 
+	/**
+	 * Find the first formatter method that supports the given class as a parameter. (methods ordered randomly). Without using the cache.
+	 *
+	 * @param klass to query a method for
+	 * @return the first format method supports given class. Or null if this class don't have one
+	 * @throws NullPointerException if the given class is null
+	 */
+	protected Method findFormatMethod(Class klass) {
+		Objects.requireNonNull(klass, "klass");
+
+		Group<Method> valid = this.dynamicMethods
+				.subGroup(FormatMethod.class, m -> m.isAnnotationPresent(FormatMethod.class))
+				.subGroup(klass, m -> Filter.Util.test(m.getAnnotation(FormatMethod.class).value(), klass));
+
+		if (valid.size() == 0) {
+			return null;
+		} else {
+			Iterator<Method> i = valid.iterator();
+			Method max = i.next();
+			int mOrder = max.getAnnotation(FormatMethod.class).priority();
+
+			while (i.hasNext()) {
+				Method next = i.next();
+				int nOrder = next.getAnnotation(FormatMethod.class).priority();
+
+				if (nOrder < mOrder) {
+					max = next;
+					mOrder = nOrder;
+				}
+			}
+
+			return max;
+		}
+	}
+
+	/**
+	 * Find the first parser method that supports the given class as a parameter. (methods ordered randomly). Without using the cache.
+	 *
+	 * @param klass to query a method for
+	 * @return the first parse method supports given class. Or null if this class don't have one
+	 * @throws NullPointerException if the given class is null
+	 */
+	protected Method findParseMethod(Class klass) {
+		Objects.requireNonNull(klass, "klass");
+
+		Group<Method> valid = this.dynamicMethods
+				.subGroup(ParseMethod.class, m -> m.isAnnotationPresent(ParseMethod.class))
+				.subGroup(klass, m -> Filter.Util.test(m.getAnnotation(ParseMethod.class).value(), klass));
+
+		if (valid.size() == 0) {
+			return null;
+		} else {
+			Iterator<Method> i = valid.iterator();
+			Method max = i.next();
+			int mOrder = max.getAnnotation(ParseMethod.class).priority();
+
+			while (i.hasNext()) {
+				Method next = i.next();
+				int nOrder = next.getAnnotation(ParseMethod.class).priority();
+
+				if (nOrder < mOrder) {
+					max = next;
+					mOrder = nOrder;
+				}
+			}
+
+			return max;
+		}
+	}
+
 	/**
 	 * Invoke the given {@link FormatMethod} with the given parameters.
+	 * <p>
+	 * Note: the handle of the given method is resolved once. Then cached for the next calls.
 	 *
 	 * @param method to be invoked
 	 * @param token  the formatting instance that holds the variables of this formatting
@@ -178,18 +442,31 @@ public abstract class AbstractFormat implements Format {
 	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
 	 */
 	protected void format0(Method method, FormatToken token) throws IOException {
+		Objects.requireNonNull(method, "method");
+		this.format0(this.resolve(method, FORMAT_TYPE), token);
+	}
+
+	/**
+	 * Invoke the given resolved {@link FormatMethod} with the given parameters.
+	 *
+	 * @param method to be invoked
+	 * @param token  the formatting instance that holds the variables of this formatting
+	 * @throws IOException          if any I/O exception occurs
+	 * @throws NullPointerException if the given 'token' or 'method' is null
+	 * @throws FormatException      if any formatting exception occurs
+	 */
+	protected void format0(DynamicMethod method, FormatToken token) throws IOException {
 		if (DEBUGGING) {
 			Objects.requireNonNull(method, "method");
 			Objects.requireNonNull(token, "token");
 		}
 
+		Tracer tracer = this.tracer;
+		long start = tracer == null ? 0 : System.nanoTime();
+
 		try {
-			method.setAccessible(true);
-			method.invoke(this, token);
-		} catch (IllegalAccessException e) {
-			throw new IllegalArgumentException(method + " have limited access", e);
-		} catch (InvocationTargetException e) {
-			Throwable cause = e.getCause();
+			method.handle.invokeExact(this, token);
+		} catch (Throwable cause) {
 			if (cause instanceof IOException) {
 				throw (IOException) cause;
 			} else if (cause instanceof FormatException) {
@@ -197,6 +474,9 @@ public abstract class AbstractFormat implements Format {
 			} else {
 				throw new FormatException(cause);
 			}
+		} finally {
+			if (tracer != null)
+				tracer.record(method.method, token.klazz.getFamily(), System.nanoTime() - start, Tracer.units(token.input));
 		}
 	}
 
@@ -237,81 +517,54 @@ public abstract class AbstractFormat implements Format {
 	 * @return the {@link ClassifyMethod} group
 	 */
 	protected Group<Method> getClassifyMethods() {
-		return this.methods.subGroup(ClassifyMethod.class, m -> m.isAnnotationPresent(ClassifyMethod.class));
+		return this.dynamicMethods.subGroup(ClassifyMethod.class, m -> m.isAnnotationPresent(ClassifyMethod.class));
 	}
 
 	/**
 	 * Get the first formatter method that supports the given class as a parameter. (methods ordered randomly).
+	 * <p>
+	 * Note: the method of each class is resolved once. Then cached for the next calls.
 	 *
 	 * @param klass to query a method for
 	 * @return the first format method supports given class. Or null if this class don't have one
 	 * @throws NullPointerException if the given class is null
+	 * @see #resolveFormatMethod(Class)
 	 */
 	protected Method getFormatMethod(Class klass) {
-		Objects.requireNonNull(klass, "klass");
-
-		Group<Method> valid = this.methods
-				.subGroup(FormatMethod.class, m -> m.isAnnotationPresent(FormatMethod.class))
-				.subGroup(klass, m -> Filter.Util.test(m.getAnnotation(FormatMethod.class).value(), klass));
-
-		if (valid.size() == 0) {
-			return null;
-		} else {
-			Iterator<Method> i = valid.iterator();
-			Method max = i.next();
-			int mOrder = max.getAnnotation(FormatMethod.class).priority();
-
-			while (i.hasNext()) {
-				Method next = i.next();
-				int nOrder = next.getAnnotation(FormatMethod.class).priority();
-
-				if (nOrder < mOrder) {
-					max = next;
-					mOrder = nOrder;
-				}
-			}
-
-			return max;
-		}
+		DynamicMethod method = this.resolveFormatMethod(klass);
+		return method == null ? null : method.method;
 	}
 
 	/**
 	 * Get the first parser method that supports the given class as a parameter. (methods ordered randomly).
+	 * <p>
+	 * Note: the method of each class is resolved once. Then cached for the next calls.
 	 *
 	 * @param klass to query a method for
 	 * @return the first parse method supports given class. Or null if this class don't have one
 	 * @throws NullPointerException if the given class is null
+	 * @see #resolveParseMethod(Class)
 	 */
 	protected Method getParseMethod(Class klass) {
-		Objects.requireNonNull(klass, "klass");
-
-		Group<Method> valid = this.methods
-				.subGroup(ParseMethod.class, m -> m.isAnnotationPresent(ParseMethod.class))
-				.subGroup(klass, m -> Filter.Util.test(m.getAnnotation(ParseMethod.class).value(), klass));
-
-		if (valid.size() == 0) {
-			return null;
-		} else {
-			Iterator<Method> i = valid.iterator();
-			Method max = i.next();
-			int mOrder = max.getAnnotation(ParseMethod.class).priority();
-
-			while (i.hasNext()) {
-				Method next = i.next();
-				int nOrder = next.getAnnotation(ParseMethod.class).priority();
-
-				if (nOrder < mOrder) {
-					max = next;
-					mOrder = nOrder;
-				}
-			}
+		DynamicMethod method = this.resolveParseMethod(klass);
+		return method == null ? null : method.method;
+	}
 
-			return max;
-		}
+	/**
+	 * Determine if the class of this overrides any of the hooks that take or return a bare {@link Method} (like {@link #getFormatMethod(Class)} or
+	 * {@link #format0(Method, FormatToken)}). If so, the dispatch goes through these hooks. Otherwise, the resolved methods are invoked directly
+	 * (without looking them up again by their {@link Method}).
+	 *
+	 * @return true, if the class of this overrides any of the hooks
+	 */
+	protected boolean isHooked() {
+		return HOOKED.get(this.getClass());
 	}
 
 	/**
 	 * Invoke the given {@link ParseMethod} with the given parameters.
+	 * <p>
+	 * Note: the handle of the given method is resolved once. Then cached for the next calls.
 	 *
 	 * @param method to be invoked
 	 * @param token  the parsing instance that holds the variables of this parsing
@@ -321,18 +574,31 @@ public abstract class AbstractFormat implements Format {
 	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
 	 */
 	protected void parse0(Method method, ParseToken token) throws IOException {
+		Objects.requireNonNull(method, "method");
+		this.parse0(this.resolve(method, PARSE_TYPE), token);
+	}
+
+	/**
+	 * Invoke the given resolved {@link ParseMethod} with the given parameters.
+	 *
+	 * @param method to be invoked
+	 * @param token  the parsing instance that holds the variables of this parsing
+	 * @throws IOException          if any I/O exception occurs
+	 * @throws NullPointerException if the given 'token' or 'method' is null
+	 * @throws ParseException       if any parsing exception occurs
+	 */
+	protected void parse0(DynamicMethod method, ParseToken token) throws IOException {
 		if (DEBUGGING) {
 			Objects.requireNonNull(method, "method");
 			Objects.requireNonNull(token, "token");
 		}
 
+		Tracer tracer = this.tracer;
+		long start = tracer == null ? 0 : System.nanoTime();
+
 		try {
-			method.setAccessible(true);
-			method.invoke(this, token);
-		} catch (IllegalAccessException e) {
-			throw new IllegalArgumentException(method + " have a limited access", e);
-		} catch (InvocationTargetException e) {
-			Throwable cause = e.getCause();
+			method.handle.invokeExact(this, token);
+		} catch (Throwable cause) {
 			if (cause instanceof IOException) {
 				throw (IOException) cause;
 			} else if (cause instanceof ParseException) {
@@ -340,6 +606,9 @@ public abstract class AbstractFormat implements Format {
 			} else {
 				throw new ParseException(cause);
 			}
+		} finally {
+			if (tracer != null)
+				tracer.record(method.method, token.klazz.getFamily(), System.nanoTime() - start, Tracer.units(token.output));
 		}
 	}
 
@@ -373,4 +642,108 @@ public abstract class AbstractFormat implements Format {
 	protected boolean parsePre(ParseToken token) throws IOException {
 		return true;
 	}
+
+	/**
+	 * Resolve the {@link ClassifyMethod}s of this. The methods (and their handles) are resolved once. Then cached for the next calls.
+	 *
+	 * @return the resolved classify methods of this
+	 * @throws IllegalArgumentException if any of the methods have limited access. Or if any of the methods have illegal parameters count
+	 */
+	protected List<DynamicMethod> resolveClassifyMethods() {
+		List<DynamicMethod> methods = this.classifyMethodCache;
+
+		if (methods == null) {
+			methods = new ArrayList<>();
+
+			for (Method method : this.getClassifyMethods())
+				methods.add(this.resolve(method, CLASSIFY_TYPE));
+
+			this.classifyMethodCache = methods = Collections.unmodifiableList(methods);
+		}
+
+		return methods;
+	}
+
+	/**
+	 * Resolve the first formatter method that supports the given class as a parameter. The method of each class (and its handle) is resolved once.
+	 * Then cached for the next calls.
+	 *
+	 * @param klass to query a method for
+	 * @return the resolved format method supports given class. Or null if this class don't have one
+	 * @throws NullPointerException     if the given class is null
+	 * @throws IllegalArgumentException if the method have limited access. Or if the method have illegal parameters count
+	 */
+	protected DynamicMethod resolveFormatMethod(Class klass) {
+		Objects.requireNonNull(klass, "klass");
+		return this.formatMethodCache.get(klass).orElse(null);
+	}
+
+	/**
+	 * Resolve the first parser method that supports the given class as a parameter. The method of each class (and its handle) is resolved once.
+	 * Then cached for the next calls.
+	 *
+	 * @param klass to query a method for
+	 * @return the resolved parse method supports given class. Or null if this class don't have one
+	 * @throws NullPointerException     if the given class is null
+	 * @throws IllegalArgumentException if the method have limited access. Or if the method have illegal parameters count
+	 */
+	protected DynamicMethod resolveParseMethod(Class klass) {
+		Objects.requireNonNull(klass, "klass");
+		return this.parseMethodCache.get(klass).orElse(null);
+	}
+
+	/**
+	 * Determine if the given class declares a method with the given name and the given parameter types.
+	 *
+	 * @param klass      the class to be checked
+	 * @param name       the name of the method
+	 * @param parameters the parameter types of the method
+	 * @return true, if the given class declares the method
+	 */
+	private static boolean declares(Class klass, String name, Class... parameters) {
+		try {
+			klass.getDeclaredMethod(name, parameters);
+			return true;
+		} catch (NoSuchMethodException ignored) {
+			return false;
+		}
+	}
+
+	/**
+	 * Get the dynamic methods of the given class. From its dispatch table. Or from all of its methods if it has no table (or its table is stale).
+	 *
+	 * @param klass  the class to get its dynamic methods
+	 * @param verify true, to verify the dispatch table of the given class (see {@link Reflection#getDispatchTable(Class, boolean)})
+	 * @return an unmodifiable group of the dynamic methods of the given class
+	 */
+	private static Group<Method> dynamicMethods(Class klass, boolean verify) {
+		List<Method> table = Reflection.getDispatchTable(klass, verify);
+		List<Method> methods = new ArrayList<>();
+
+		for (Method method : table == null ? METHODS.get(klass) : table)
+			if (method.isAnnotationPresent(ClassifyMethod.class) ||
+				method.isAnnotationPresent(FormatMethod.class) ||
+				method.isAnnotationPresent(ParseMethod.class))
+				methods.add(method);
+
+		return Collectionz.unmodifiableGroup(new HashGroup<>(methods));
+	}
+
+	/**
+	 * Resolve the given dynamic method. Adapting its handle to the given type. The handle of each method is resolved once. Then cached for the next
+	 * calls.
+	 *
+	 * @param method the method to be resolved
+	 * @param type   the type to adapt the handle of the method to
+	 * @return the resolved method
+	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
+	 */
+	private DynamicMethod resolve(Method method, MethodType type) {
+		DynamicMethod resolved = this.resolvedMethods.get(method);
+
+		if (resolved == null)
+			resolved = this.resolvedMethods.computeIfAbsent(method, m -> new DynamicMethod(m, type));
+
+		return resolved;
+	}
 }
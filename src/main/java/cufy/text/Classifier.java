@@ -15,12 +15,12 @@
  */
 package cufy.text;
 
+import cufy.io.CharSequenceReader;
 import cufy.lang.Clazz;
 
 import java.io.IOError;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.Objects;
 
 /**
@@ -43,7 +43,7 @@ public interface Classifier {
 	default <T> Clazz<T> classify(CharSequence text) {
 		Objects.requireNonNull(text, "text");
 		try {
-			return this.classify(new ClassifyToken<>(new StringReader(text.toString()), null));
+			return this.classify(new ClassifyToken<>(new CharSequenceReader(text), null));
 		} catch (IOException e) {
 			throw new IOError(e);
 		}
@@ -16,6 +16,7 @@
 package cufy.text;
 
 import cufy.lang.Clazz;
+import cufy.util.OverlayMap;
 
 import java.io.Reader;
 import java.util.HashMap;
@@ -31,10 +32,6 @@ import java.util.Objects;
  * @since 30-Mar-2020
  */
 public class ClassifyToken<T> {
-	/**
-	 * The data of THIS token.
-	 */
-	public final Map data = new HashMap();
 	/**
 	 * The depth of this token form the first parent.
 	 */
@@ -46,9 +43,9 @@ public class ClassifyToken<T> {
 	 */
 	public final Reader input;
 	/**
-	 * A table of data to be copied from this token to it's sub-tokens.
+	 * A table of data to be copied from this token to it's sub-tokens. (copied in constant time, the sub-tokens share the structure of this table)
 	 */
-	public final Map linear;
+	public final OverlayMap linear;
 	/**
 	 * The classifying token for the formatting that required initializing this token.
 	 */
@@ -61,6 +58,10 @@ public class ClassifyToken<T> {
 	 * The output of the classification. (could be changed several times!)
 	 */
 	public Clazz<T> output;
+	/**
+	 * The data of THIS token. (null until the first call to {@link #getData()})
+	 */
+	private Map data;
 
 	/**
 	 * Construct a new classifying token instance.
@@ -73,7 +74,7 @@ public class ClassifyToken<T> {
 		Objects.requireNonNull(input, "input");
 
 		this.parent = null;
-		this.linear = new HashMap();
+		this.linear = new OverlayMap();
 		this.tree = new HashMap();
 		this.depth = 0;
 		this.input = input;
@@ -93,13 +94,38 @@ public class ClassifyToken<T> {
 		Objects.requireNonNull(input, "input");
 
 		this.parent = parent;
-		this.linear = new HashMap(parent.linear);
+		this.linear = parent.linear.fork();
 		this.tree = parent.tree;
 		this.depth = parent.depth + 1;
 		this.input = input;
 		this.output = output;
 	}
 
+	/**
+	 * Get the data of THIS token. Allocate it if this is the first call.
+	 *
+	 * @return the data of this token
+	 */
+	public Map getData() {
+		Map data = this.data;
+
+		if (data == null)
+			this.data = data = new HashMap();
+
+		return data;
+	}
+
+	/**
+	 * Get the value of the given key at the data of THIS token. Without allocating the data of this token.
+	 *
+	 * @param key the key of the value
+	 * @return the value of the given key at the data of this token. Or null if it has no such value
+	 */
+	public Object getData(Object key) {
+		Map data = this.data;
+		return data == null ? null : data.get(key);
+	}
+
 	/**
 	 * Get a sub token of this token with the given parameters.
 	 *
@@ -15,10 +15,11 @@
  */
 package cufy.text;
 
+import cufy.io.CharSequenceReader;
+
 import java.io.IOError;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.Objects;
 
 /**
@@ -42,7 +43,7 @@ public interface Format extends Formatter, Parser, Classifier {
 	default <T> T cparse(CharSequence text) {
 		try {
 			Objects.requireNonNull(text, "text");
-			Reader reader = new StringReader(text.toString());
+			Reader reader = new CharSequenceReader(text);
 			return this.parse(new ParseToken<>(reader, null, this.classify(new ClassifyToken<>(reader, null))));
 		} catch (IOException e) {
 			throw new IOError(e);
@@ -63,13 +64,59 @@ public interface Format extends Formatter, Parser, Classifier {
 	default <T> T cparse(CharSequence text, T object) {
 		try {
 			Objects.requireNonNull(text, "text");
-			Reader reader = new StringReader(text.toString());
+			Reader reader = new CharSequenceReader(text);
 			return this.parse(new ParseToken<>(reader, object, this.classify(new ClassifyToken<>(reader, null))));
 		} catch (IOException e) {
 			throw new IOError(e);
 		}
 	}
 
+	/**
+	 * Parse the given range of the given text to an object. Without copying the text.
+	 *
+	 * @param text  to be parsed
+	 * @param start the start of the range to be parsed (inclusive)
+	 * @param end   the end of the range to be parsed (exclusive)
+	 * @param <T>   the type of the returned object
+	 * @return an object parsed from the given range of the given text
+	 * @throws NullPointerException      if the given 'text' is null
+	 * @throws IndexOutOfBoundsException if the given range is out of the bounds of the given 'text'
+	 * @throws ClassifyException         when any classification exception occurs
+	 * @throws ParseException            when any parsing exception occurs
+	 */
+	default <T> T cparse(CharSequence text, int start, int end) {
+		try {
+			Objects.requireNonNull(text, "text");
+			Reader reader = new CharSequenceReader(text, start, end);
+			return this.parse(new ParseToken<>(reader, null, this.classify(new ClassifyToken<>(reader, null))));
+		} catch (IOException e) {
+			throw new IOError(e);
+		}
+	}
+
+	/**
+	 * Parse the given range of the given characters to an object. Without copying the characters.
+	 *
+	 * @param chars  to be parsed
+	 * @param offset the start of the range to be parsed
+	 * @param length the length of the range to be parsed
+	 * @param <T>    the type of the returned object
+	 * @return an object parsed from the given range of the given characters
+	 * @throws NullPointerException      if the given 'chars' is null
+	 * @throws IndexOutOfBoundsException if the given range is out of the bounds of the given 'chars'
+	 * @throws ClassifyException         when any classification exception occurs
+	 * @throws ParseException            when any parsing exception occurs
+	 */
+	default <T> T cparse(char[] chars, int offset, int length) {
+		try {
+			Objects.requireNonNull(chars, "chars");
+			Reader reader = new CharSequenceReader(chars, offset, length);
+			return this.parse(new ParseToken<>(reader, null, this.classify(new ClassifyToken<>(reader, null))));
+		} catch (IOException e) {
+			throw new IOError(e);
+		}
+	}
+
 	/**
 	 * Classify then parse the text read from the 'reader' to an object with the type of the 'outputClazz' and then return it.
 	 *
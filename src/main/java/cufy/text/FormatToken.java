@@ -16,6 +16,7 @@
 package cufy.text;
 
 import cufy.lang.Clazz;
+import cufy.util.OverlayMap;
 
 import java.io.Writer;
 import java.util.HashMap;
@@ -31,10 +32,6 @@ import java.util.Objects;
  * @since 30-Mar-2020
  */
 public class FormatToken<T> {
-	/**
-	 * The data of THIS token.
-	 */
-	public final Map data = new HashMap();
 	/**
 	 * The depth of this token form the first parent.
 	 */
@@ -44,9 +41,9 @@ public class FormatToken<T> {
 	 */
 	public final T input;
 	/**
-	 * A table of data to be copied from this token to it is sub-tokens.
+	 * A table of data to be copied from this token to it is sub-tokens. (copied in constant time, the sub-tokens share the structure of this table)
 	 */
-	public final Map linear;
+	public final OverlayMap linear;
 	/**
 	 * The writer to write the output to.
 	 */
@@ -63,6 +60,10 @@ public class FormatToken<T> {
 	 * The class that the input do have.
 	 */
 	public Clazz<T> klazz;
+	/**
+	 * The data of THIS token. (null until the first call to {@link #getData()})
+	 */
+	private Map data;
 
 	/**
 	 * Construct a new formatting token.
@@ -76,7 +77,7 @@ public class FormatToken<T> {
 		Objects.requireNonNull(output, "output");
 
 		this.parent = null;
-		this.linear = new HashMap();
+		this.linear = new OverlayMap();
 		this.tree = new HashMap();
 		this.depth = 0;
 		this.input = input;
@@ -99,7 +100,7 @@ public class FormatToken<T> {
 		Objects.requireNonNull(klazz, "klazz");
 
 		this.parent = parent;
-		this.linear = new HashMap(parent.linear);
+		this.linear = parent.linear.fork();
 		this.tree = parent.tree;
 		this.depth = parent.depth + 1;
 		this.input = input;
@@ -107,6 +108,31 @@ public class FormatToken<T> {
 		this.klazz = klazz;
 	}
 
+	/**
+	 * Get the data of THIS token. Allocate it if this is the first call.
+	 *
+	 * @return the data of this token
+	 */
+	public Map getData() {
+		Map data = this.data;
+
+		if (data == null)
+			this.data = data = new HashMap();
+
+		return data;
+	}
+
+	/**
+	 * Get the value of the given key at the data of THIS token. Without allocating the data of this token.
+	 *
+	 * @param key the key of the value
+	 * @return the value of the given key at the data of this token. Or null if it has no such value
+	 */
+	public Object getData(Object key) {
+		Map data = this.data;
+		return data == null ? null : data.get(key);
+	}
+
 	/**
 	 * Get a sub token of this token with the given parameters.
 	 *
@@ -15,12 +15,12 @@
  */
 package cufy.text;
 
+import cufy.io.CharSequenceReader;
 import cufy.lang.Clazz;
 
 import java.io.IOError;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.Objects;
 
 /**
@@ -44,7 +44,7 @@ public interface Parser {
 	default <T> T parse(CharSequence text, T object) {
 		Objects.requireNonNull(text, "text");
 		try {
-			return this.parse(new ParseToken<>(new StringReader(text.toString()), object, Clazz.ofi(object)));
+			return this.parse(new ParseToken<>(new CharSequenceReader(text), object, Clazz.ofi(object)));
 		} catch (IOException e) {
 			throw new IOError(e);
 		}
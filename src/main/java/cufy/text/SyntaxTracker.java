@@ -15,16 +15,17 @@
  */
 package cufy.text;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import cufy.util.Automaton;
+
+import java.util.*;
 
 /**
  * Helps to track syntax positioning on a stream.
+ * <p>
+ * Note: the syntax is compiled into a {@link Table} (an automaton). So, each character appended costs a single transition.
  *
  * @author lsafer
- * @version 0.1.3
+ * @version 0.1.5
  * @since 21-Nov-2019
  */
 public class SyntaxTracker implements Appendable {
@@ -40,7 +41,19 @@ public class SyntaxTracker implements Appendable {
 	 * The map for nestable syntax. Such syntax can have a nested syntax in it.
 	 */
 	protected final Map<String, String> NESTABLE;
+	/**
+	 * The compiled syntax.
+	 */
+	protected final Table TABLE;
 
+	/**
+	 * The closer pattern index of the current top fence.
+	 */
+	protected int closer = -1;
+	/**
+	 * The closer pattern indexes of the fences currently applied. (parallel to {@link #fences})
+	 */
+	protected int[] closers = new int[8];
 	/**
 	 * An array of the fences currently applied.
 	 */
@@ -54,9 +67,9 @@ public class SyntaxTracker implements Appendable {
 	 */
 	protected boolean literal = false;
 	/**
-	 * The string read after the start of the current fence or the end of the last removed fence.
+	 * The automaton state of the string read after the start of the current fence or the end of the last removed fence.
 	 */
-	protected String past = "";
+	protected int state = Automaton.ROOT;
 
 	/**
 	 * Initialize a new syntax tracker.
@@ -64,11 +77,24 @@ public class SyntaxTracker implements Appendable {
 	 * @param nestable  the syntax that can have a syntax inside it
 	 * @param literal   the syntax that can not have a syntax inside it
 	 * @param escapable a list of strings to be skipped when seen in a literal fence.
+	 * @throws NullPointerException if the given 'nestable' or 'literal' or 'escapable' is null
 	 */
 	public SyntaxTracker(Map<String, String> nestable, Map<String, String> literal, List<String> escapable) {
-		this.NESTABLE = nestable;
-		this.LITERAL = literal;
-		this.ESCAPABLE = escapable;
+		this(new Table(nestable, literal, escapable));
+	}
+
+	/**
+	 * Initialize a new syntax tracker using the given compiled syntax. (tables are immutable and can be shared between trackers)
+	 *
+	 * @param table the compiled syntax
+	 * @throws NullPointerException if the given 'table' is null
+	 */
+	public SyntaxTracker(Table table) {
+		Objects.requireNonNull(table, "table");
+		this.TABLE = table;
+		this.NESTABLE = table.nestable;
+		this.LITERAL = table.literal;
+		this.ESCAPABLE = table.escapable;
 	}
 
 	@Override
@@ -100,27 +126,19 @@ public class SyntaxTracker implements Appendable {
 
 	@Override
 	public Appendable append(char c) {
-		this.past += c;
+		this.state = this.TABLE.automaton.next(this.state, c);
 
-		if (this.literal) {
-			for (String escapable : this.ESCAPABLE)
-				if (this.past.endsWith(escapable)) {
-					this.past = "";
-					return this;
-				}
+		if (this.literal && this.TABLE.escapes[this.state]) {
+			this.state = Automaton.ROOT;
+			return this;
 		}
 
-		if (this.fence != null && this.past.endsWith(this.fence.getValue())) {
+		if (this.fence != null && this.TABLE.automaton.endsWith(this.state, this.closer)) {
 			//if there is a fence applied and the past string read ends with the closer string of the current fence
 			this.unwrap();
-		} else if (!this.literal) {
+		} else if (!this.literal && this.TABLE.opens[this.state] != null) {
 			//if there is no fence applied or the current fence haven't been closed yet and can have inner fences.
-			for (Map.Entry<String, String> fence : this.LITERAL.entrySet())
-				if (this.past.endsWith(fence.getKey()))
-					this.wrap(fence, true);
-			for (Map.Entry<String, String> fence : this.NESTABLE.entrySet())
-				if (this.past.endsWith(fence.getKey()))
-					this.wrap(fence, false);
+			this.wrap(this.TABLE.opens[this.state], this.TABLE.literals[this.state], this.TABLE.closers[this.state]);
 		}
 
 		return this;
@@ -165,8 +183,9 @@ public class SyntaxTracker implements Appendable {
 		int size = this.fences.size();
 		this.fences.remove(size - 1);
 
-		this.past = "";
+		this.state = Automaton.ROOT;
 		this.fence = size == 1 ? null : this.fences.get(size - 2);
+		this.closer = size == 1 ? -1 : this.closers[size - 2];
 		this.literal = false;
 	}
 
@@ -175,13 +194,125 @@ public class SyntaxTracker implements Appendable {
 	 *
 	 * @param fence   to be added
 	 * @param literal if the given fence can't have inner fences
+	 * @param closer  the index of the closer pattern of the given fence
 	 * @throws NullPointerException if the given 'fence' is null
 	 */
-	private void wrap(Map.Entry<String, String> fence, boolean literal) {
+	private void wrap(Map.Entry<String, String> fence, boolean literal, int closer) {
+		int size = this.fences.size();
+
+		if (size == this.closers.length)
+			this.closers = Arrays.copyOf(this.closers, size << 1);
+
 		this.fences.add(fence);
+		this.closers[size] = closer;
 
-		this.past = "";
+		this.state = Automaton.ROOT;
 		this.fence = fence;
+		this.closer = closer;
 		this.literal = literal;
 	}
+
+	/**
+	 * An immutable compiled syntax. The fences and the escapables are compiled into an {@link Automaton}. And the reaction of each state of that
+	 * automaton is resolved ahead of time. Tables can be shared between trackers (and threads).
+	 * <p>
+	 * Note: when many fences match at the same position. The first literal fence (in the iteration order of the literal map) wins. Otherwise, the
+	 * first nestable fence (in the iteration order of the nestable map).
+	 */
+	public static final class Table {
+		/**
+		 * The automaton of the patterns of this syntax.
+		 */
+		final Automaton automaton;
+		/**
+		 * The closer pattern index of the fence opened at each state.
+		 */
+		final int[] closers;
+		/**
+		 * A list of strings to be skipped when seen in a literal fence.
+		 */
+		final List<String> escapable;
+		/**
+		 * If an escapable ends at each state.
+		 */
+		final boolean[] escapes;
+		/**
+		 * The map for literal syntax.
+		 */
+		final Map<String, String> literal;
+		/**
+		 * If the fence opened at each state is literal.
+		 */
+		final boolean[] literals;
+		/**
+		 * The map for nestable syntax.
+		 */
+		final Map<String, String> nestable;
+		/**
+		 * The fence opened at each state. (null if no fence opens at that state)
+		 */
+		final Map.Entry<String, String>[] opens;
+
+		/**
+		 * Compile the given syntax.
+		 *
+		 * @param nestable  the syntax that can have a syntax inside it
+		 * @param literal   the syntax that can not have a syntax inside it
+		 * @param escapable a list of strings to be skipped when seen in a literal fence.
+		 * @throws NullPointerException if the given 'nestable' or 'literal' or 'escapable' or any of their elements is null
+		 */
+		public Table(Map<String, String> nestable, Map<String, String> literal, List<String> escapable) {
+			Objects.requireNonNull(nestable, "nestable");
+			Objects.requireNonNull(literal, "literal");
+			Objects.requireNonNull(escapable, "escapable");
+
+			this.nestable = Collections.unmodifiableMap(new LinkedHashMap<>(nestable));
+			this.literal = Collections.unmodifiableMap(new LinkedHashMap<>(literal));
+			this.escapable = Collections.unmodifiableList(new ArrayList<>(escapable));
+
+			//patterns: the escapables, then (opener, closer) of each literal fence, then (opener, closer) of each nestable fence
+			List<String> patterns = new ArrayList<>(this.escapable);
+			List<Map.Entry<String, String>> fences = new ArrayList<>();
+			for (Map.Entry<String, String> fence : this.literal.entrySet()) {
+				patterns.add(fence.getKey());
+				patterns.add(fence.getValue());
+				fences.add(new AbstractMap.SimpleImmutableEntry<>(fence));
+			}
+			for (Map.Entry<String, String> fence : this.nestable.entrySet()) {
+				patterns.add(fence.getKey());
+				patterns.add(fence.getValue());
+				fences.add(new AbstractMap.SimpleImmutableEntry<>(fence));
+			}
+
+			this.automaton = new Automaton(patterns.toArray(new String[0]));
+
+			int size = this.automaton.stateCount();
+			int escapables = this.escapable.size();
+			int literals = this.literal.size();
+			this.closers = new int[size];
+			this.escapes = new boolean[size];
+			this.literals = new boolean[size];
+			//noinspection unchecked
+			this.opens = new Map.Entry[size];
+
+			for (int state = 0; state < size; state++) {
+				for (int i = 0; i < escapables; i++)
+					if (this.automaton.endsWith(state, i)) {
+						this.escapes[state] = true;
+						break;
+					}
+
+				for (int i = 0; i < fences.size(); i++) {
+					int opener = escapables + (i << 1);
+
+					if (this.automaton.endsWith(state, opener)) {
+						this.opens[state] = fences.get(i);
+						this.literals[state] = i < literals;
+						this.closers[state] = opener + 1;
+						break;
+					}
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,668 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.text.csv;
+
+import cufy.lang.Clazz;
+import cufy.meta.Filter;
+import cufy.meta.Where;
+import cufy.text.*;
+import cufy.util.Arrayz;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A formatter/parser for CSV (comma-separated values).
+ * <p>
+ * <b>Dynamic Methods:</b>
+ * <ul>
+ *     <li>
+ *         <b>{@link Collection Rows}</b>
+ *         <ul>
+ *             	<li>{@link #formatRows format}</li>
+ *         		<li>{@link #isRows classify}</li>
+ *         		<li>{@link #parseRows parse}</li>
+ *         </ul>
+ *     </li>
+ *     <li>
+ *         <b>{@link Map Columns}</b>
+ *         <ul>
+ *         		<li>{@link #parseColumns parse}</li>
+ *         </ul>
+ *     </li>
+ * </ul>
+ * <p>
+ * Large inputs (see {@link #PARALLEL_THRESHOLD}) are split at record boundaries (line breaks outside quoted fields). Then the chunks are parsed in
+ * parallel.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @see <a href="https://tools.ietf.org/html/rfc4180">RFC 4180</a>
+ * @since 19-Oct-2020
+ */
+public class CSV extends AbstractFormat {
+	/**
+	 * The global instance to avoid unnecessary instancing.
+	 */
+	@Where.Target
+	final public static CSV global = new CSV();
+	/**
+	 * The number of characters expected for fields.
+	 */
+	final protected int BUFFER_SIZE;
+	/**
+	 * If the first record is a header. (the names of the columns)
+	 * <p>
+	 * Note: when true, rows are parsed to maps (column name to value) and formatted from maps.
+	 */
+	final protected boolean HEADER;
+	/**
+	 * The fields separator.
+	 */
+	final protected char DELIMITER;
+	/**
+	 * The minimum number of characters to parse in parallel chunks. (zero to disable parallel parsing)
+	 */
+	final protected int PARALLEL_THRESHOLD;
+	/**
+	 * The quote of fields that contains special characters.
+	 */
+	final protected char QUOTE;
+	/**
+	 * The line separator to be written after each record.
+	 */
+	final protected String WS_LN;
+
+	/**
+	 * Construct a new CSV format with the default syntax and the default options.
+	 */
+	public CSV() {
+		this(new Syntax().setDefaults());
+	}
+
+	/**
+	 * Construct a new CSV format with the given syntax and the default options.
+	 * <p>
+	 * Note: the given syntax is read once. So, changing it afterwards won't affect this.
+	 *
+	 * @param syntax the syntax of the new format
+	 * @throws NullPointerException if the given 'syntax' is null
+	 */
+	public CSV(Syntax syntax) {
+		this(syntax, new Options().setDefaults());
+	}
+
+	/**
+	 * Construct a new CSV format with the given syntax and the given options.
+	 * <p>
+	 * Note: the given syntax and the given options are read once. So, changing them afterwards won't affect this.
+	 *
+	 * @param syntax  the syntax of the new format
+	 * @param options the options of the new format
+	 * @throws NullPointerException if the given 'syntax' or 'options' is null
+	 */
+	public CSV(Syntax syntax, Options options) {
+		super(Objects.requireNonNull(options, "options").DEBUGGING);
+		Objects.requireNonNull(syntax, "syntax");
+		DELIMITER = syntax.DELIMITER;
+		QUOTE = syntax.QUOTE;
+		WS_LN = syntax.WS_LN;
+		BUFFER_SIZE = options.BUFFER_SIZE;
+		HEADER = options.HEADER;
+		PARALLEL_THRESHOLD = options.PARALLEL_THRESHOLD;
+	}
+
+	/**
+	 * Format the given rows. To a {@link CSV} text. Then {@link Writer#append} it to the given {@link Writer}.
+	 * <p>
+	 * Each row could be a {@link Map} (the header is the keys of the first map) or an {@link Iterable} or an array of fields. Anything else is a row
+	 * with a single field.
+	 *
+	 * @param token the formatting instance that holds the variables of this formatting
+	 * @throws FormatException      when any formatting errors occurs
+	 * @throws IOException          when any I/O exception occurs
+	 * @throws NullPointerException if the given 'token' or 'token.input' is null
+	 */
+	@FormatMethod(@Filter(includeAll = {Iterable.class, Object[].class}))
+	protected void formatRows(FormatToken token) throws IOException {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+			Objects.requireNonNull(token.input, "token.input");
+		}
+
+		Iterable rows = token.input instanceof Iterable ? (Iterable) token.input : Arrayz.asList0(token.input);
+
+		//the keys of the map rows
+		List header = null;
+
+		for (Object row : rows) {
+			if (row instanceof Map) {
+				if (header == null) {
+					header = new ArrayList(((Map) row).keySet());
+
+					if (HEADER)
+						this.formatRecord(token.output, header);
+				}
+
+				List fields = new ArrayList(header.size());
+				for (Object key : header)
+					fields.add(((Map) row).get(key));
+
+				this.formatRecord(token.output, fields);
+			} else if (row instanceof Iterable) {
+				this.formatRecord(token.output, (Iterable) row);
+			} else if (row != null && row.getClass().isArray()) {
+				this.formatRecord(token.output, Arrayz.asList0(row));
+			} else {
+				this.formatRecord(token.output, Collections.singletonList(row));
+			}
+		}
+	}
+
+	/**
+	 * Check if the given string should be parsed as rows or not. Any CSV text can be rows. So, the requested clazz (if any) decides: a collection or
+	 * an array of objects is rows, anything else (like a {@link Map} of columns) is not.
+	 *
+	 * @param token the classification instance that holds the variables of this classification
+	 * @return whether the given string should be parsed as rows or not
+	 * @throws ClassifyException    when any classification exception occurs
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	@ClassifyMethod
+	protected boolean isRows(ClassifyToken<Collection> token) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		if (token.output == null) {
+			token.output = Clazz.of(Collection.class);
+			return true;
+		}
+
+		Class family = token.output.getFamily();
+		return Collection.class.isAssignableFrom(family) || family.isArray() && !family.getComponentType().isPrimitive();
+	}
+
+	/**
+	 * Parse the string from the given reader to a {@link Map} of columns. Each column is an array of the values of that column (in order). The
+	 * columns are named by the header (if {@link #HEADER}), or by their indexes.
+	 * <p>
+	 * A column is a primitive array (like {@code int[]}) if the clazz of the output declares that array for it, or if the output already have that
+	 * array for it. Otherwise, it is an array of strings. Missing fields are null (or zero in primitive columns).
+	 *
+	 * @param token the parsing instance that holds the variables of this parsing
+	 * @throws ParseException               when any parsing exception occurs
+	 * @throws IOException                  when any I/O exception occurs
+	 * @throws NullPointerException         if the given 'token' is null
+	 * @throws ReflectiveOperationException if any exception occurred while trying to construct from the clazz given
+	 */
+	@ParseMethod(@Filter(includeAll = Map.class))
+	protected void parseColumns(ParseToken token) throws IOException, ReflectiveOperationException {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		List<List<String>> records = this.parseRecords(this.read(token.input));
+		List<String> header = HEADER && !records.isEmpty() ? records.remove(0) : null;
+		Map existing = token.output instanceof Map ? (Map) token.output : Collections.emptyMap();
+
+		int width = header == null ? 0 : header.size();
+		for (List<String> record : records)
+			width = Math.max(width, record.size());
+
+		Map columns = new LinkedHashMap();
+		for (int i = 0; i < width; i++) {
+			Object name = header == null ? (Object) i : i < header.size() ? header.get(i) : String.valueOf(i);
+			String[] column = new String[records.size()];
+
+			for (int j = 0; j < column.length; j++) {
+				List<String> record = records.get(j);
+				column[j] = i < record.size() ? record.get(i) : null;
+			}
+
+			//the primitive type of the column (if any)
+			Clazz componentClazz = token.klazz.getComponentClazz(1, name);
+			Object current = existing.get(name);
+			Class type = componentClazz != null && componentClazz.getFamily().isArray() ? componentClazz.getFamily().getComponentType() :
+						 current != null && current.getClass().isArray() ? current.getClass().getComponentType() :
+						 null;
+
+			columns.put(name, type != null && type.isPrimitive() ? this.parseColumn(column, type) : column);
+		}
+
+		if (!token.klazz.isInstance(token.output))
+			token.output = token.klazz.isAssignableFrom(LinkedHashMap.class) ? new LinkedHashMap() :
+						   token.klazz.getConstructor().newInstance();
+		else ((Map) token.output).clear();
+
+		((Map) token.output).putAll(columns);
+	}
+
+	/**
+	 * Parse the string from the given reader to a {@link Collection} (or an array) of rows. Each row is a {@link List} of the fields of a record. Or
+	 * a {@link Map} of the header to the fields (if {@link #HEADER}). If the component clazz of the output is a map class (like a bean). Then each
+	 * row is constructed from that class.
+	 *
+	 * @param token the parsing instance that holds the variables of this parsing
+	 * @throws ParseException               when any parsing exception occurs
+	 * @throws IOException                  when any I/O exception occurs
+	 * @throws NullPointerException         if the given 'token' is null
+	 * @throws ReflectiveOperationException if any exception occurred while trying to construct from the clazz given
+	 */
+	@ParseMethod(@Filter(includeAll = {Collection.class, Object[].class}))
+	protected void parseRows(ParseToken token) throws IOException, ReflectiveOperationException {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		List<List<String>> records = this.parseRecords(this.read(token.input));
+		List rows = records;
+
+		if (HEADER && !records.isEmpty()) {
+			List<String> header = records.get(0);
+			Clazz component = token.klazz.getComponentClazz(0, null);
+			Class family = component == null ? null : component.getFamily();
+			boolean custom = family != null && Map.class.isAssignableFrom(family) && !family.isAssignableFrom(LinkedHashMap.class);
+
+			rows = new ArrayList(records.size() - 1);
+			for (int i = 1; i < records.size(); i++) {
+				List<String> record = records.get(i);
+
+				if (record.size() > header.size())
+					throw new ParseException("record " + i + " has more fields than the header");
+
+				Map row = custom ? (Map) component.getConstructor().newInstance() : new LinkedHashMap(header.size() << 1);
+				for (int j = 0; j < record.size(); j++)
+					row.put(header.get(j), record.get(j));
+
+				rows.add(row);
+			}
+		}
+
+		//setup the output
+		if (token.klazz.isArray()) {
+			token.output = rows.toArray((Object[]) Array.newInstance(token.klazz.getComponentType(), rows.size()));
+		} else if (token.klazz.isInstance(token.output)) {
+			((Collection) token.output).clear();
+			((Collection) token.output).addAll(rows);
+		} else if (token.klazz.isAssignableFrom(ArrayList.class)) {
+			token.output = rows;
+		} else {
+			token.output = token.klazz.getConstructor().newInstance();
+			((Collection) token.output).addAll(rows);
+		}
+	}
+
+	/**
+	 * Find the record boundaries to split the given range of the given text into (about) the given number of chunks. A boundary is right after a
+	 * line break that is not in a quoted field.
+	 *
+	 * @param text   the text to be split
+	 * @param start  the start of the range (inclusive)
+	 * @param end    the end of the range (exclusive)
+	 * @param chunks the number of chunks wanted
+	 * @return the boundaries. Starting with the given start and ending with the given end
+	 * @throws NullPointerException if the given 'text' is null
+	 */
+	protected int[] boundaries(CharSequence text, int start, int end, int chunks) {
+		Objects.requireNonNull(text, "text");
+
+		int[] bounds = new int[chunks + 1];
+		int count = 0;
+		bounds[count++] = start;
+
+		//the position of the next wanted boundary
+		int target = start + (end - start) / chunks;
+		//in a quoted field
+		boolean quoted = false;
+		//at the start of a field
+		boolean fresh = true;
+
+		for (int i = start; i < end && count < chunks; i++) {
+			char c = text.charAt(i);
+
+			if (quoted) {
+				if (c == QUOTE)
+					if (i + 1 < end && text.charAt(i + 1) == QUOTE)
+						i++;
+					else quoted = false;
+			} else if (c == QUOTE && fresh) {
+				quoted = true;
+				fresh = false;
+			} else if (c == DELIMITER) {
+				fresh = true;
+			} else if (c == '\n') {
+				fresh = true;
+
+				if (i + 1 >= target) {
+					bounds[count++] = i + 1;
+					target = start + (int) ((long) (end - start) * count / chunks);
+				}
+			} else if (c != '\r' || i + 1 >= end || text.charAt(i + 1) != '\n') {
+				fresh = false;
+			}
+		}
+
+		bounds[count++] = end;
+		return Arrays.copyOf(bounds, count);
+	}
+
+	/**
+	 * Write the given fields as a record to the given writer.
+	 *
+	 * @param writer the writer to write to
+	 * @param fields the fields of the record
+	 * @throws IOException          when any I/O exception occurs
+	 * @throws NullPointerException if the given 'writer' or 'fields' is null
+	 */
+	protected void formatRecord(Writer writer, Iterable fields) throws IOException {
+		Objects.requireNonNull(writer, "writer");
+		Objects.requireNonNull(fields, "fields");
+
+		//the number of fields written and the empty ones of them
+		int count = 0;
+		int empty = 0;
+
+		for (Object field : fields) {
+			if (count++ != 0)
+				writer.append(DELIMITER);
+
+			String string = field == null ? "" : field.toString();
+
+			if (string.isEmpty()) {
+				empty++;
+				continue;
+			}
+
+			boolean quote = false;
+
+			for (int i = 0, l = string.length(); i < l && !quote; i++) {
+				char c = string.charAt(i);
+				quote = c == DELIMITER || c == QUOTE || c == '\n' || c == '\r';
+			}
+
+			if (quote) {
+				writer.append(QUOTE);
+				for (int i = 0, l = string.length(); i < l; i++) {
+					char c = string.charAt(i);
+					if (c == QUOTE)
+						writer.append(QUOTE);
+					writer.append(c);
+				}
+				writer.append(QUOTE);
+			} else {
+				writer.append(string);
+			}
+		}
+
+		if (count == 1 && empty == 1)
+			//a record with a single empty field would be an empty line
+			writer.append(QUOTE).append(QUOTE);
+
+		writer.append(WS_LN);
+	}
+
+	/**
+	 * Parse the given fields of a column to an array of the given primitive type.
+	 *
+	 * @param fields the fields of the column (null for missing fields)
+	 * @param type   the primitive type of the column
+	 * @return an array of the given type holding the parsed fields (missing or empty fields are zero, or false)
+	 * @throws ParseException           if any field is not a valid value of the given type
+	 * @throws NullPointerException     if the given 'fields' or 'type' is null
+	 * @throws IllegalArgumentException if the given 'type' is not a primitive type (or is void)
+	 */
+	protected Object parseColumn(String[] fields, Class type) {
+		Objects.requireNonNull(fields, "fields");
+		Objects.requireNonNull(type, "type");
+
+		Object column = Array.newInstance(type, fields.length);
+
+		for (int i = 0; i < fields.length; i++) {
+			String field = fields[i] == null ? "" : fields[i].trim();
+
+			if (field.isEmpty())
+				continue;
+
+			try {
+				if (type == boolean.class)
+					Array.setBoolean(column, i, Boolean.parseBoolean(field));
+				else if (type == byte.class)
+					Array.setByte(column, i, Byte.parseByte(field));
+				else if (type == char.class)
+					Array.setChar(column, i, field.charAt(0));
+				else if (type == double.class)
+					Array.setDouble(column, i, Double.parseDouble(field));
+				else if (type == float.class)
+					Array.setFloat(column, i, Float.parseFloat(field));
+				else if (type == int.class)
+					Array.setInt(column, i, Integer.parseInt(field));
+				else if (type == long.class)
+					Array.setLong(column, i, Long.parseLong(field));
+				else if (type == short.class)
+					Array.setShort(column, i, Short.parseShort(field));
+				else throw new IllegalArgumentException("not a primitive type: " + type);
+			} catch (NumberFormatException e) {
+				throw new ParseException("field " + i + " is not a valid " + type + ": " + field, e);
+			}
+		}
+
+		return column;
+	}
+
+	/**
+	 * Parse the records of the given text. In parallel chunks if the text is large enough (see {@link #PARALLEL_THRESHOLD}).
+	 *
+	 * @param text the text to be parsed
+	 * @return the records of the given text (in order)
+	 * @throws ParseException       when any parsing exception occurs
+	 * @throws NullPointerException if the given 'text' is null
+	 */
+	protected List<List<String>> parseRecords(CharSequence text) {
+		Objects.requireNonNull(text, "text");
+
+		int length = text.length();
+		int chunks = Math.min(length / 4096, ForkJoinPool.getCommonPoolParallelism() << 1);
+
+		if (PARALLEL_THRESHOLD <= 0 || length < PARALLEL_THRESHOLD || chunks < 2)
+			return this.parseRecords(text, 0, length);
+
+		int[] bounds = this.boundaries(text, 0, length, chunks);
+
+		List<List<String>> records = new ArrayList<>();
+		IntStream.range(0, bounds.length - 1)
+				.parallel()
+				.mapToObj(i -> this.parseRecords(text, bounds[i], bounds[i + 1]))
+				.forEachOrdered(records::addAll);
+		return records;
+	}
+
+	/**
+	 * Parse the records in the given range of the given text. The range should start at the start of a record.
+	 * <p>
+	 * Note: empty lines are skipped.
+	 *
+	 * @param text  the text to be parsed
+	 * @param start the start of the range (inclusive)
+	 * @param end   the end of the range (exclusive)
+	 * @return the records in the given range (in order)
+	 * @throws ParseException       when any parsing exception occurs
+	 * @throws NullPointerException if the given 'text' is null
+	 */
+	protected List<List<String>> parseRecords(CharSequence text, int start, int end) {
+		Objects.requireNonNull(text, "text");
+
+		List<List<String>> records = new ArrayList<>();
+		List<String> record = new ArrayList<>();
+		StringBuilder field = new StringBuilder(BUFFER_SIZE);
+
+		//in a quoted field
+		boolean quoted = false;
+		//the current field is (was) quoted
+		boolean wasQuoted = false;
+
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+
+			if (quoted) {
+				if (c != QUOTE)
+					field.append(c);
+				else if (i + 1 < end && text.charAt(i + 1) == QUOTE)
+					//escaped quote
+					field.append(text.charAt(++i));
+				else quoted = false;
+			} else if (c == QUOTE && field.length() == 0 && !wasQuoted) {
+				quoted = true;
+				wasQuoted = true;
+			} else if (c == DELIMITER) {
+				record.add(field.toString());
+				field.setLength(0);
+				wasQuoted = false;
+			} else if (c == '\n') {
+				record.add(field.toString());
+				if (record.size() > 1 || wasQuoted || !record.get(0).isEmpty())
+					records.add(record);
+
+				record = new ArrayList<>(record.size());
+				field.setLength(0);
+				wasQuoted = false;
+			} else if (c != '\r' || i + 1 >= end || text.charAt(i + 1) != '\n') {
+				field.append(c);
+			}
+		}
+
+		if (quoted)
+			throw new ParseException("quoted field not closed");
+
+		if (!record.isEmpty() || wasQuoted || field.length() != 0) {
+			record.add(field.toString());
+			records.add(record);
+		}
+
+		return records;
+	}
+
+	/**
+	 * Read the remaining characters of the given reader.
+	 *
+	 * @param reader the reader to read from
+	 * @return the remaining characters of the given reader
+	 * @throws IOException          if any I/O exception occurs
+	 * @throws NullPointerException if the given 'reader' is null
+	 */
+	protected CharSequence read(Reader reader) throws IOException {
+		Objects.requireNonNull(reader, "reader");
+
+		StringBuilder builder = new StringBuilder(8192);
+		char[] buffer = new char[8192];
+
+		for (int l; (l = reader.read(buffer)) != -1; )
+			builder.append(buffer, 0, l);
+
+		return builder;
+	}
+
+	/**
+	 * The options of a CSV format. (read once by the constructor of the format)
+	 */
+	public static class Options {
+		/**
+		 * The number of characters expected for fields.
+		 */
+		public int BUFFER_SIZE;
+		/**
+		 * If the format should be in a debugging mode.
+		 */
+		public boolean DEBUGGING;
+		/**
+		 * If the first record is a header. (the names of the columns)
+		 */
+		public boolean HEADER;
+		/**
+		 * The minimum number of characters to parse in parallel chunks. (zero to disable parallel parsing)
+		 */
+		public int PARALLEL_THRESHOLD;
+
+		/**
+		 * Set the defaults of these options.
+		 *
+		 * @return this
+		 */
+		public Options setDefaults() {
+			BUFFER_SIZE = 20;
+			DEBUGGING = false;
+			HEADER = false;
+			PARALLEL_THRESHOLD = 1 << 20;
+
+			return this;
+		}
+	}
+
+	/**
+	 * The symbols of a CSV format. (read once by the constructor of the format)
+	 */
+	public static class Syntax {
+		/**
+		 * The fields separator.
+		 */
+		public char DELIMITER;
+		/**
+		 * The quote of fields that contains special characters.
+		 */
+		public char QUOTE;
+		/**
+		 * The line separator to be written after each record. (both "\n" and "\r\n" are accepted when parsing)
+		 */
+		public String WS_LN;
+
+		/**
+		 * Construct a new empty syntax.
+		 */
+		public Syntax() {
+		}
+
+		/**
+		 * Construct a copy of the given syntax.
+		 *
+		 * @param syntax the syntax to be copied
+		 * @throws NullPointerException if the given 'syntax' is null
+		 */
+		public Syntax(Syntax syntax) {
+			Objects.requireNonNull(syntax, "syntax");
+			DELIMITER = syntax.DELIMITER;
+			QUOTE = syntax.QUOTE;
+			WS_LN = syntax.WS_LN;
+		}
+
+		/**
+		 * Set the defaults of this syntax.
+		 *
+		 * @return this
+		 */
+		public Syntax setDefaults() {
+			DELIMITER = ',';
+			QUOTE = '"';
+			WS_LN = "\r\n";
+
+			return this;
+		}
+	}
+}
@@ -0,0 +1,25 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+/**
+ * is a plain tabular format. Each line is a record, and the fields of a record are separated by commas. And this package provides it with respect to
+ * the abstraction of the package Text.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @see <a href="https://tools.ietf.org/html/rfc4180">RFC 4180</a>
+ * @since 19-Oct-2020
+ */
+package cufy.text.csv;
@@ -15,23 +15,30 @@
  */
 package cufy.text.json;
 
+import cufy.io.CharSequenceReader;
 import cufy.lang.Clazz;
 import cufy.lang.Empty;
 import cufy.meta.Filter;
 import cufy.meta.Where;
 import cufy.text.*;
 import cufy.util.Arrayz;
+import cufy.util.Automaton;
+import cufy.util.PrefixMatcher;
 import cufy.util.Readerz;
 import cufy.util.Stringz;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.io.Writer;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.BaseStream;
 
 /**
  * A formatter/parser for JSON.
@@ -99,6 +106,11 @@ import java.util.concurrent.atomic.AtomicReference;
  *         </ul>
  *     </li>
  * </ul>
+ * <p>
+ * <b>Thread safety:</b> an instance is immutable. The configuration (including a private snapshot of the {@link Syntax}) is set and the derived
+ * tables are built by the constructor. Then they are only read. The state of each call is held by its token. So, a single instance
+ * (like {@link #global}) can be shared by any number of threads without synchronization. The only shared mutable state is the profiled {@link
+ * #SHAPES} (concurrent) and the caches of {@link AbstractFormat}.
  *
  * @author lsafer
  * @version 0.1.5
@@ -110,33 +122,183 @@ public class JSON extends AbstractFormat {
 	 * The global instance to avoid unnecessary instancing.
 	 */
 	@Where.Target
-	final public static JSON global = new JSON().setDefaults(new Syntax().setDefaults());
+	final public static JSON global = new JSON();
+	/**
+	 * The classes of the immutable leaves that can be shared. (see {@link #SHARING})
+	 */
+	final protected static Set<Class> LEAVES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			BigDecimal.class,
+			BigInteger.class,
+			Boolean.class,
+			Byte.class,
+			Character.class,
+			Double.class,
+			Float.class,
+			Integer.class,
+			Long.class,
+			Short.class,
+			String.class
+	)));
 	/**
-	 * A list of strings to be skipped when seen in a literal fence.
+	 * The maximum number of parse sites to profile the shapes of. (documents with arbitrary keys could have unlimited sites)
 	 */
-	final protected List<String> ESCAPABLE = new ArrayList<>();
+	final protected static int SHAPES_LIMIT = 1 << 10;
 	/**
-	 * The literal symbols relationships for the syntax tracker.
+	 * The ends of the comment fences. (unmodifiable)
 	 */
-	final protected Map<String, String> LITERAL = new HashMap<>();
+	final protected Set<String> COMMENT_END;
 	/**
-	 * The nestable symbols relationships for the syntax tracker.
+	 * A list of strings to be skipped when seen in a literal fence. (unmodifiable)
 	 */
-	final protected Map<String, String> NESTABLE = new HashMap<>();
+	final protected List<String> ESCAPABLE;
+	/**
+	 * The literal symbols relationships for the syntax tracker. (unmodifiable)
+	 */
+	final protected Map<String, String> LITERAL;
+	/**
+	 * The nestable symbols relationships for the syntax tracker. (unmodifiable)
+	 */
+	final protected Map<String, String> NESTABLE;
 	/**
 	 * The number of characters expected for values.
 	 */
-	protected int BUFFER_SIZE;
+	final protected int BUFFER_SIZE;
 	/**
 	 * The number of whitespaces characters expected to be read continuously.
 	 * <p>
 	 * Note: larger number will effect the RAM. Lower number will effect the performance
 	 */
-	protected int MARK_LENGTH;
+	final protected int MARK_LENGTH;
+	/**
+	 * The matcher of the start of arrays.
+	 */
+	final protected PrefixMatcher MATCHER_ARRAY;
+	/**
+	 * The matcher of booleans.
+	 */
+	final protected PrefixMatcher MATCHER_BOOLEAN;
+	/**
+	 * The matcher of nulls.
+	 */
+	final protected PrefixMatcher MATCHER_NULL;
+	/**
+	 * The matcher of the start of numbers.
+	 */
+	final protected PrefixMatcher MATCHER_NUMBER;
+	/**
+	 * The matcher of the start of objects.
+	 */
+	final protected PrefixMatcher MATCHER_OBJECT;
+	/**
+	 * The matcher of the start of strings.
+	 */
+	final protected PrefixMatcher MATCHER_STRING;
+	/**
+	 * The compiled operators of arrays. The array closer (index 0), then the separators.
+	 */
+	final protected Automaton OPERATORS_ARRAY;
+	/**
+	 * The compiled operators of objects. The declarations, then the object closer (index {@code OPERATOR_DECLARATION.length}), then the separators.
+	 */
+	final protected Automaton OPERATORS_OBJECT;
+	/**
+	 * The number of objects in a row with the same key sequence required to install a {@link Shape} for the parse site they are parsed at. (zero to
+	 * disable shapes)
+	 * <p>
+	 * Note: shapes are profiled per parse site (see {@link Site}). Only objects with {@link String} keys are profiled.
+	 */
+	final protected int SHAPE_THRESHOLD;
+	/**
+	 * The key sequences profiled for each parse site. (at most {@link #SHAPES_LIMIT} sites)
+	 */
+	final protected Map<Object, Shape> SHAPES = new ConcurrentHashMap<>();
+	/**
+	 * If structurally identical values should be parsed into a single shared instance (for example repeated strings or repeated small objects).
+	 * <p>
+	 * Note: only immutable leaves (like strings and numbers), lists and maps are shared. Shared containers are unmodifiable views, since they could
+	 * be referenced from many places in the output. Also, a caller can share values across many documents by passing the same table as the key
+	 * "shared" on the {@link ParseToken#tree} of each document.
+	 */
+	final protected boolean SHARING;
+	/**
+	 * The symbols of this. (a frozen snapshot of the syntax given to the constructor)
+	 * <p>
+	 * Note: private, since the arrays of a syntax can't be frozen. Subclasses get a copy of it using {@link #getSyntax()}.
+	 */
+	final private Syntax SYNTAX;
+	/**
+	 * The compiled {@link #NESTABLE}, {@link #LITERAL} and {@link #ESCAPABLE} syntax (shared by the syntax trackers of this).
+	 */
+	final protected SyntaxTracker.Table SYNTAX_TABLE;
+
+	/**
+	 * Construct a new JSON format with the default syntax and the default options.
+	 */
+	public JSON() {
+		this(new Syntax().setDefaults());
+	}
+
+	/**
+	 * Construct a new JSON format with the given syntax and the default options.
+	 * <p>
+	 * Note: a snapshot of the given syntax is taken. So, changing it afterwards won't affect this.
+	 *
+	 * @param syntax the syntax of the new format
+	 * @throws NullPointerException if the given 'syntax' is null
+	 */
+	public JSON(Syntax syntax) {
+		this(syntax, new Options().setDefaults());
+	}
+
 	/**
-	 * The symbols of this.
+	 * Construct a new JSON format with the given syntax and the given options. Then build the derived tables of it.
+	 * <p>
+	 * Note: a snapshot of the given syntax is taken and the given options are read once. So, changing them afterwards won't affect this.
+	 *
+	 * @param syntax  the syntax of the new format
+	 * @param options the options of the new format
+	 * @throws NullPointerException if the given 'syntax' or 'options' is null
 	 */
-	protected Syntax SYNTAX;
+	public JSON(Syntax syntax, Options options) {
+		super(Objects.requireNonNull(options, "options").DEBUGGING);
+		Objects.requireNonNull(syntax, "syntax");
+		SYNTAX = new Syntax(syntax);
+		BUFFER_SIZE = options.BUFFER_SIZE;
+		MARK_LENGTH = options.MARK_LENGTH;
+		SHAPE_THRESHOLD = options.SHAPE_THRESHOLD;
+		SHARING = options.SHARING;
+
+		Map<String, String> nestable = new HashMap<>();
+		nestable.put(SYNTAX.FENCE_OBJECT[0], SYNTAX.FENCE_OBJECT[1]);
+		nestable.put(SYNTAX.FENCE_ARRAY[0], SYNTAX.FENCE_ARRAY[1]);
+		NESTABLE = Collections.unmodifiableMap(nestable);
+
+		Map<String, String> literal = new HashMap<>(SYNTAX.FENCE_COMMENT);
+		literal.put(SYNTAX.FENCE_STRING[0], SYNTAX.FENCE_STRING[1]);
+		LITERAL = Collections.unmodifiableMap(literal);
+
+		ESCAPABLE = Collections.unmodifiableList(new ArrayList<>(SYNTAX.ESCAPABLES.values()));
+		COMMENT_END = Collections.unmodifiableSet(new HashSet<>(SYNTAX.FENCE_COMMENT.values()));
+
+		SYNTAX_TABLE = new SyntaxTracker.Table(NESTABLE, LITERAL, ESCAPABLE);
+
+		List<String> array = new ArrayList<>();
+		array.add(SYNTAX.FENCE_ARRAY[1]);
+		array.addAll(Arrays.asList(SYNTAX.OPERATOR_SEPARATOR));
+		OPERATORS_ARRAY = new Automaton(array.toArray(new String[0]));
+
+		List<String> object = new ArrayList<>(Arrays.asList(SYNTAX.OPERATOR_DECLARATION));
+		object.add(SYNTAX.FENCE_OBJECT[1]);
+		object.addAll(Arrays.asList(SYNTAX.OPERATOR_SEPARATOR));
+		OPERATORS_OBJECT = new Automaton(object.toArray(new String[0]));
+
+		MATCHER_ARRAY = new PrefixMatcher(true, false, false, SYNTAX.FENCE_ARRAY[0]);
+		MATCHER_BOOLEAN = new PrefixMatcher(true, true, true, SYNTAX.VALUE_BOOLEAN);
+		MATCHER_NULL = new PrefixMatcher(true, true, true, SYNTAX.VALUE_NULL);
+		MATCHER_NUMBER = new PrefixMatcher(true, false, false, SYNTAX.VALUE_NUMBER);
+		MATCHER_OBJECT = new PrefixMatcher(true, false, false, SYNTAX.FENCE_OBJECT[0]);
+		MATCHER_STRING = new PrefixMatcher(true, false, false, SYNTAX.FENCE_STRING[0]);
+	}
 
 	@Override
 	protected boolean formatPre(FormatToken token) throws IOException {
@@ -148,8 +310,35 @@ public class JSON extends AbstractFormat {
 		return true;
 	}
 
+	@Override
+	protected boolean parsePre(ParseToken token) throws IOException {
+		//SHARING TABLE (can be provided by the caller to share across documents)
+		if (this.SHARING && token.parent == null && !token.tree.containsKey("shared"))
+			token.tree.put("shared", new HashMap());
+
+		//REGIONS TABLE (provided by the caller to skip the regions unchanged since the last parsing)
+		if (token.parent == null && token.tree.get("regions") != null) {
+			Object table = token.tree.get("regions");
+
+			//the containers are remembered by identity (equal containers are different regions)
+			if (!(table instanceof IdentityHashMap))
+				throw new IllegalArgumentException("The regions table should be an IdentityHashMap: " + table.getClass());
+
+			Map regions = (Map) table;
+			token.tree.put("regions.last", new IdentityHashMap(regions));
+			regions.clear();
+		}
+
+		return true;
+	}
+
 	/**
 	 * Format the given {@link Collection Array}. To a {@link JSON} text. Then {@link Writer#append} it to the given {@link Writer}.
+	 * <p>
+	 * Any {@link Iterable}, {@link Iterator}, {@link Spliterator} or {@link BaseStream Stream} is formatted as an array too. Such sources are
+	 * consumed lazily, each element is written as it is pulled. So the elements are never collected in the memory (as long as the writer does not
+	 * buffer them). Note: iterators, spliterators and streams are consumed by this method, and streams are not closed by it. A {@link Path} is not
+	 * formatted as an array. (it is an iterable of paths, and a path of a single name iterates to a path equal to itself)
 	 *
 	 * @param token the formatting instance that holds the variables of this formatting
 	 * @throws FormatException      when any formatting errors occurs
@@ -157,7 +346,11 @@ public class JSON extends AbstractFormat {
 	 * @throws NullPointerException if the given 'token' or 'token.input' is null
 	 */
 	@FormatMethod(@Filter(
-			includeAll = {Collection.class,
+			excludeAll = Path.class,
+			includeAll = {Iterable.class,
+						  Iterator.class,
+						  Spliterator.class,
+						  BaseStream.class,
 						  Object[].class,
 			},
 			include = {boolean[].class,
@@ -175,7 +368,12 @@ public class JSON extends AbstractFormat {
 			Objects.requireNonNull(token.input, "token.input");
 		}
 
-		Iterator it = token.input instanceof Collection ? ((Collection) token.input).iterator() : Arrayz.asList0(token.input).iterator();
+		Object input = token.input;
+		Iterator it = input instanceof Iterator ? (Iterator) input :
+					  input instanceof Iterable ? ((Iterable) input).iterator() :
+					  input instanceof BaseStream ? ((BaseStream) input).iterator() :
+					  input instanceof Spliterator ? Spliterators.iterator((Spliterator) input) :
+					  Arrayz.asList0(input).iterator();
 
 		String TAB = Stringz.repeat(SYNTAX.WS_TAB, token.depth);
 		String SHIFT = TAB + SYNTAX.WS_TAB;
@@ -383,11 +581,11 @@ public class JSON extends AbstractFormat {
 
 		token.input.mark(MARK_LENGTH);
 
-		int r = Readerz.isRemainingEquals(token.input, true, false, false, SYNTAX.FENCE_ARRAY[0]);
+		boolean r = MATCHER_ARRAY.matches(token.input);
 
 		token.input.reset();
 
-		if (r == -1) {
+		if (!r) {
 			return false;
 		} else {
 			token.output = Clazz.of(Collection.class);
@@ -412,11 +610,11 @@ public class JSON extends AbstractFormat {
 
 		token.input.mark(MARK_LENGTH);
 
-		int r = Readerz.isRemainingEquals(token.input, true, true, true, SYNTAX.VALUE_BOOLEAN);
+		boolean r = MATCHER_BOOLEAN.matches(token.input);
 
 		token.input.reset();
 
-		if (r == -1) {
+		if (!r) {
 			return false;
 		} else {
 			token.output = Clazz.of(Boolean.class);
@@ -472,11 +670,11 @@ public class JSON extends AbstractFormat {
 
 		token.input.mark(MARK_LENGTH);
 
-		int r = Readerz.isRemainingEquals(token.input, true, true, true, SYNTAX.VALUE_NULL);
+		boolean r = MATCHER_NULL.matches(token.input);
 
 		token.input.reset();
 
-		if (r == -1) {
+		if (!r) {
 			return false;
 		} else {
 			token.output = Clazz.of(Void.class);
@@ -501,11 +699,11 @@ public class JSON extends AbstractFormat {
 
 		token.input.mark(MARK_LENGTH);
 
-		int r = Readerz.isRemainingEquals(token.input, true, false, false, SYNTAX.VALUE_NUMBER);
+		boolean r = MATCHER_NUMBER.matches(token.input);
 
 		token.input.reset();
 
-		if (r == -1) {
+		if (!r) {
 			return false;
 		} else {
 			token.output = Clazz.of(Number.class);
@@ -530,11 +728,11 @@ public class JSON extends AbstractFormat {
 
 		token.input.mark(MARK_LENGTH);
 
-		int r = Readerz.isRemainingEquals(token.input, true, false, false, SYNTAX.FENCE_OBJECT[0]);
+		boolean r = MATCHER_OBJECT.matches(token.input);
 
 		token.input.reset();
 
-		if (r == -1) {
+		if (!r) {
 			return false;
 		} else {
 			token.output = Clazz.of(Map.class);
@@ -559,11 +757,11 @@ public class JSON extends AbstractFormat {
 
 		token.input.mark(MARK_LENGTH);
 
-		int r = Readerz.isRemainingEquals(token.input, true, false, false, SYNTAX.FENCE_STRING[0]);
+		boolean r = MATCHER_STRING.matches(token.input);
 
 		token.input.reset();
 
-		if (r == -1) {
+		if (!r) {
 			return false;
 		} else {
 			token.output = Clazz.of(CharSequence.class, String.class);
@@ -621,19 +819,26 @@ public class JSON extends AbstractFormat {
 		//comment mode
 		boolean comment = false;
 		//syntax manager
-		SyntaxTracker tracker = new SyntaxTracker(NESTABLE, LITERAL, ESCAPABLE);
+		SyntaxTracker tracker = new SyntaxTracker(SYNTAX_TABLE);
 		//content reading buffer (for members)
 		StringBuilder builder = new StringBuilder(BUFFER_SIZE);
-		//short backtrace
-		StringBuilder backtrace = new StringBuilder(BUFFER_SIZE);
+		//the operators automaton state of the short backtrace
+		int operator = Automaton.ROOT;
 
 		//last overwritten index
 		int index = 0;
 		//overwrite an existing element at the current index
 		boolean overwrite = ((Collection) token.output).size() > index;
+		//the parse site of the elements (null if shapes are disabled)
+		Object site = this.SHAPE_THRESHOLD > 0 ? new Site(this.site(token), null) : null;
+
+		//the regions of the elements read last time (if remembered)
+		Map<Object, Region> last = this.regions(token, origin);
+		//the regions of the elements read this time (if remembering)
+		Map<Object, Region> regions = token.tree.containsKey("regions") ? new HashMap<>() : null;
 
 		//first run
-		if (Readerz.isRemainingEquals(token.input, true, false, false, SYNTAX.FENCE_ARRAY[0]) != 0)
+		if (!MATCHER_ARRAY.matches(token.input))
 			throw new ParseException("array not started");
 
 		for (int i; (i = token.input.read()) != -1; ) {
@@ -646,11 +851,11 @@ public class JSON extends AbstractFormat {
 				else throw new ParseException("array closed before text end");
 			if (tracker.depth() == 0) {
 				//the short past string
-				String past = backtrace.append(point).toString();
+				operator = OPERATORS_ARRAY.next(operator, point);
 
-				if ((closed = past.endsWith(SYNTAX.FENCE_ARRAY[1])) || Stringz.endsWith(past, SYNTAX.OPERATOR_SEPARATOR) != null) {
+				if ((closed = OPERATORS_ARRAY.endsWith(operator, 0)) || OPERATORS_ARRAY.matches(operator)) {
 					//element chunk reader
-					Reader elementReader = new StringReader(builder.toString());
+					Reader elementReader = new CharSequenceReader(builder);
 
 					//classifying
 					Clazz elementClazz = this.classify(new ClassifyToken(elementReader, null));
@@ -661,9 +866,37 @@ public class JSON extends AbstractFormat {
 
 					//existing member
 					Object element = overwrite ? ((List) token.output).get(index) : null;
+					//the index of the member
+					int position = overwrite ? index : ((Collection) token.output).size();
+					//the region of the member last time
+					Region region = last == null || !overwrite ? null : last.get(index);
+
+					if (region != null && region.matches(builder, 0, builder.length()) && this.unchanged(token, element, region.value)) {
+						//unchanged region (and member) since last time: keep the existing member
+						this.retain(token, element);
+						regions.put(position, region);
+						overwrite = ((Collection) token.output).size() > (++index);
+
+						//new builders
+						builder = new StringBuilder(BUFFER_SIZE);
+						operator = Automaton.ROOT;
+						continue;
+					}
 
-					//parsing the member
-					element = this.parse(token.subToken(elementReader, element, elementClazz, 0));
+					//parsing the member (existing members could be shared. So, when sharing, members are parsed into new instances)
+					boolean fresh = element == null || token.tree.get("shared") != null;
+					ParseToken elementToken = token.subToken(elementReader, fresh ? null : element, elementClazz, 0);
+
+					if (site != null)
+						elementToken.getData().put("site", site);
+
+					element = fresh ?
+							  this.share(token, this.parse(elementToken)) :
+							  this.parse(elementToken);
+
+					//remember the region of the member
+					if (regions != null)
+						regions.put(position, new Region(builder, 0, builder.length(), element));
 
 					//register results
 					if (overwrite) {
@@ -678,18 +911,18 @@ public class JSON extends AbstractFormat {
 
 					//new builders
 					builder = new StringBuilder(BUFFER_SIZE);
-					backtrace = new StringBuilder(BUFFER_SIZE);
+					operator = Automaton.ROOT;
 					continue;
 				}
-			} else if (backtrace.length() != 0) {
+			} else if (operator != Automaton.ROOT) {
 				//reset short backtrace
-				backtrace = new StringBuilder(BUFFER_SIZE);
+				operator = Automaton.ROOT;
 			}
 
 			//notify syntax manager
 			tracker.append(point);
 
-			if (this.SYNTAX.FENCE_COMMENT.containsValue(tracker.fenceStart())) {
+			if (this.COMMENT_END.contains(tracker.fenceStart())) {
 				//currently in comment mode
 				if (!comment) {
 					//delete the comment open symbol
@@ -728,6 +961,10 @@ public class JSON extends AbstractFormat {
 
 			token.output = origin;
 		}
+
+		//remember the regions of this array
+		if (regions != null)
+			((Map) token.tree.get("regions")).put(token.output, regions);
 	}
 
 	/**
@@ -843,19 +1080,36 @@ public class JSON extends AbstractFormat {
 		//comment mode
 		boolean comment = false;
 		//syntax manager
-		SyntaxTracker tracker = new SyntaxTracker(NESTABLE, LITERAL, ESCAPABLE);
+		SyntaxTracker tracker = new SyntaxTracker(SYNTAX_TABLE);
 		//content reading buffer (for key and value)
 		StringBuilder builder = new StringBuilder(BUFFER_SIZE);
-		//short backtrace
-		StringBuilder backtrace = new StringBuilder(BUFFER_SIZE);
+		//the operators automaton state of the short backtrace
+		int operator = Automaton.ROOT;
 
 		//the keys in the input
 		Set keys = new HashSet();
 		//key holder
 		StringBuilder keyBuilder = null;
 
+		//the parse site of this object (null if shapes are disabled)
+		Object site = this.SHAPE_THRESHOLD > 0 ? this.site(token) : null;
+		//the key sequence expected (speculated) at the parse site
+		Shape shape = site == null ? null : this.SHAPES.get(site);
+		//still reading the keys in the order of the shape
+		boolean onShape = shape != null && shape.installed(this.SHAPE_THRESHOLD);
+		//the number of keys read in the order of the shape
+		int position = 0;
+		//the keys read (sources and values) for profiling (not needed while on the shape or when shapes are disabled)
+		List<String> keySources = site == null || onShape ? null : new ArrayList<>();
+		List keyValues = site == null || onShape ? null : new ArrayList();
+
+		//the regions of the values read last time (if remembered)
+		Map<Object, Region> last = this.regions(token, token.output);
+		//the regions of the values read this time (if remembering)
+		Map<Object, Region> regions = token.tree.containsKey("regions") ? new HashMap<>() : null;
+
 		//first read
-		if (Readerz.isRemainingEquals(token.input, true, false, false, SYNTAX.FENCE_OBJECT[0]) != 0)
+		if (!MATCHER_OBJECT.matches(token.input))
 			throw new ParseException("Object not started");
 
 		for (int i; (i = token.input.read()) != -1; ) {
@@ -869,9 +1123,13 @@ public class JSON extends AbstractFormat {
 				else throw new ParseException("Object closed before text end");
 			if (tracker.depth() == 0) {
 				//the short past string
-				String past = backtrace.append(point).toString();
+				operator = OPERATORS_OBJECT.next(operator, point);
+				//the first operator (in order) the short past string ends with
+				int found = OPERATORS_OBJECT.first(operator);
+				//the index of the closer (the declarations come before it)
+				int closer = SYNTAX.OPERATOR_DECLARATION.length;
 
-				if (Stringz.endsWith(past, SYNTAX.OPERATOR_DECLARATION) != null) {
+				if (found != -1 && found < closer) {
 					//key reading mode is over| value reading mode
 					if (keyBuilder != null)
 						throw new ParseException("Two equation symbol");
@@ -880,53 +1138,112 @@ public class JSON extends AbstractFormat {
 					keyBuilder = builder;
 
 					builder = new StringBuilder(BUFFER_SIZE);
-					backtrace = new StringBuilder(BUFFER_SIZE);
+					operator = Automaton.ROOT;
 					continue;
-				} else if ((closed = past.endsWith(SYNTAX.FENCE_OBJECT[1])) || Stringz.endsWith(past, SYNTAX.OPERATOR_SEPARATOR) != null) {
+				} else if ((closed = OPERATORS_OBJECT.endsWith(operator, closer)) || found > closer) {
 					//if the last element spot is empty. Then don't parse.
 					if (closed && keyBuilder == null)
 						continue;
 
-					//readers
-					Reader keyReader = new StringReader(keyBuilder.toString().trim());
-					Reader valueReader = new StringReader(builder.toString().trim());
+					String keySource = keyBuilder.toString().trim();
+					Object key;
 
-					//classifying
-					Clazz keyClazz = this.classify(new ClassifyToken<>(keyReader, null));
-					Clazz valueClazz = this.classify(new ClassifyToken(valueReader, null));
+					if (onShape && position < shape.sources.length && shape.sources[position].equals(keySource)) {
+						//speculation hit: the key (and it's uniqueness) is already known
+						key = shape.keys[position++];
+					} else {
+						if (onShape) {
+							//speculation miss: continue with the generic path
+							onShape = false;
+							keySources = new ArrayList<>(Arrays.asList(shape.sources).subList(0, position));
+							keyValues = new ArrayList(Arrays.asList(shape.keys).subList(0, position));
+							keys.addAll(keyValues);
+						}
+
+						//parsing the key
+						Reader keyReader = new CharSequenceReader(keySource);
+						Clazz keyClazz = this.classify(new ClassifyToken<>(keyReader, null));
+						key = this.parse(token.subToken(keyReader, null, keyClazz, 0));
+
+						//duplicated key check
+						if (keys.contains(key))
+							throw new ParseException("duplicated key: " + key);
+
+						key = this.share(token, key);
+						keys.add(key);
+
+						if (site != null) {
+							keySources.add(keySource);
+							keyValues.add(key);
+						}
+					}
+
+					//the value source (trimmed, without copying)
+					int valueStart = 0;
+					int valueEnd = builder.length();
+					while (valueStart < valueEnd && builder.charAt(valueStart) <= ' ')
+						valueStart++;
+					while (valueEnd > valueStart && builder.charAt(valueEnd - 1) <= ' ')
+						valueEnd--;
+
+					//the region of the value last time
+					Region region = last == null ? null : last.get(key);
+
+					if (region != null && token.output.containsKey(key) && region.matches(builder, valueStart, valueEnd) &&
+						this.unchanged(token, token.output.get(key), region.value)) {
+						//unchanged region (and value) since last time: keep the existing value
+						this.retain(token, token.output.get(key));
+						regions.put(key, region);
+
+						//new builders
+						keyBuilder = null;
+						builder = new StringBuilder(BUFFER_SIZE);
+						operator = Automaton.ROOT;
+						continue;
+					}
 
-					//parsing the key
-					Object key = this.parse(token.subToken(keyReader, null, keyClazz, 0));
+					//value reader
+					Reader valueReader = new CharSequenceReader(builder, valueStart, valueEnd);
 
-					//duplicated key check
-					if (keys.contains(key))
-						throw new ParseException("duplicated key: " + key);
+					//classifying
+					Clazz valueClazz = this.classify(new ClassifyToken(valueReader, null));
 
 					//existing value
 					Object value = token.output.get(key);
 
-					//parsing the value
-					value = this.parse(token.subToken(valueReader, value, valueClazz, 1));
+					//parsing the value (existing values could be shared. So, when sharing, values are parsed into new instances)
+					boolean fresh = value == null || token.tree.get("shared") != null;
+					ParseToken valueToken = token.subToken(valueReader, fresh ? null : value, valueClazz, 1);
+
+					if (site != null)
+						valueToken.getData().put("site", new Site(site, key));
+
+					value = fresh ?
+							this.share(token, this.parse(valueToken)) :
+							this.parse(valueToken);
+
+					//remember the region of the value
+					if (regions != null)
+						regions.put(key, new Region(builder, valueStart, valueEnd, value));
 
 					//register results
-					keys.add(key);
 					token.output.put(key, value);
 
 					//new builders
 					keyBuilder = null;
 					builder = new StringBuilder(BUFFER_SIZE);
-					backtrace = new StringBuilder(BUFFER_SIZE);
+					operator = Automaton.ROOT;
 					continue;
 				}
-			} else if (backtrace.length() != 0) {
+			} else if (operator != Automaton.ROOT) {
 				//reset short backtrace
-				backtrace = new StringBuilder(BUFFER_SIZE);
+				operator = Automaton.ROOT;
 			}
 
 			//notify syntax manager
 			tracker.append(point);
 
-			if (this.SYNTAX.FENCE_COMMENT.containsValue(tracker.fenceEnd())) {
+			if (this.COMMENT_END.contains(tracker.fenceEnd())) {
 				//currently in comment mode
 				if (!comment) {
 					//delete the comment open symbol
@@ -945,8 +1262,22 @@ public class JSON extends AbstractFormat {
 		if (!closed)
 			throw new ParseException("Map not closed");
 
+		if (onShape) {
+			//the keys have been read in the order of the shape
+			if (position != shape.keys.length)
+				keys = new HashSet(Arrays.asList(shape.keys).subList(0, position));
+			else keys = shape.keySet;
+		} else if (site != null) {
+			//profile the shape of this object
+			this.profile(site, shape, keySources, keyValues);
+		}
+
 		//remove missing keys!
 		token.output.keySet().retainAll(keys);
+
+		//remember the regions of this object
+		if (regions != null)
+			((Map) token.tree.get("regions")).put(token.output, regions);
 	}
 
 	/**
@@ -981,25 +1312,562 @@ public class JSON extends AbstractFormat {
 	}
 
 	/**
-	 * Set the default values of JSON for this json format.
+	 * Get a copy of the syntax of this.
+	 *
+	 * @return a copy of the syntax of this (changing it won't affect this)
+	 */
+	protected Syntax getSyntax() {
+		return new Syntax(SYNTAX);
+	}
+
+	/**
+	 * Get a JSON format with the given syntax and the default options.
 	 *
 	 * @param syntax the syntax to be set
-	 * @return this
+	 * @return a new JSON format with the given syntax
+	 * @throws NullPointerException if the given 'syntax' is null
+	 * @deprecated the configuration of a format is final. So, this can't set the syntax of this. Construct the format with its syntax using {@link
+	 * 		#JSON(Syntax)} or {@link #JSON(Syntax, Options)} instead
 	 */
+	@Deprecated
 	protected JSON setDefaults(Syntax syntax) {
-		SYNTAX = syntax;
-		BUFFER_SIZE = 20;
-		MARK_LENGTH = 20;
+		return new JSON(syntax);
+	}
+
+	/**
+	 * Get the member regions the given container had on the last parsing.
+	 *
+	 * @param token     the parsing instance that holds the variables of this parsing
+	 * @param container the container (the initial output) to get the regions of
+	 * @return the member regions of the given container on the last parsing. Or null if not remembered
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected Map<Object, Region> regions(ParseToken token, Object container) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		Map last = (Map) token.tree.get("regions.last");
+
+		return last == null || container == null ? null : (Map<Object, Region>) last.get(container);
+	}
+
+	/**
+	 * Determine if the given value is the value parsed for a region on the last parsing, and it (and its members) have not been modified since.
+	 * Containers are compared by identity (and their members against their remembered regions). Immutable leaves (see {@link #LEAVES}) are compared
+	 * by equality.
+	 *
+	 * @param token  the parsing instance that holds the variables of this parsing
+	 * @param value  the current value of the region
+	 * @param parsed the value parsed for the region on the last parsing
+	 * @return true, if the given value is still the value parsed on the last parsing
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected boolean unchanged(ParseToken token, Object value, Object parsed) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		if (value != parsed && (value == null || !LEAVES.contains(value.getClass()) || !value.equals(parsed)))
+			return false;
+
+		Map<Object, Region> regions = this.regions(token, value);
+
+		if (regions == null)
+			return true;
+
+		if (value instanceof Map) {
+			Map map = (Map) value;
+
+			if (map.size() != regions.size())
+				return false;
+
+			for (Map.Entry<Object, Region> entry : regions.entrySet())
+				if (!map.containsKey(entry.getKey()) || !this.unchanged(token, map.get(entry.getKey()), entry.getValue().value))
+					return false;
+
+			return true;
+		}
+
+		List list = value instanceof List ? (List) value :
+					value.getClass().isArray() ? Arrayz.asList(value) :
+					null;
+
+		if (list == null || list.size() != regions.size())
+			return false;
+
+		for (int i = 0; i < list.size(); i++) {
+			Region region = regions.get(i);
+
+			if (region == null || !this.unchanged(token, list.get(i), region.value))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Keep remembering the regions of the given value (and its members) that have been skipped since its region have not changed since the last
+	 * parsing.
+	 *
+	 * @param token the parsing instance that holds the variables of this parsing
+	 * @param value the value that have been kept
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected void retain(ParseToken token, Object value) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		Map last = (Map) token.tree.get("regions.last");
+		Map regions = (Map) token.tree.get("regions");
+		Object memory = value == null ? null : last.get(value);
+
+		if (memory != null) {
+			regions.put(value, memory);
+
+			if (value instanceof Map)
+				for (Object member : ((Map) value).values())
+					this.retain(token, member);
+			else if (value instanceof Collection)
+				for (Object member : (Collection) value)
+					this.retain(token, member);
+			else if (value instanceof Object[])
+				for (Object member : (Object[]) value)
+					this.retain(token, member);
+		}
+	}
+
+	/**
+	 * Record the given key sequence as read from an object parsed at the given parse site. If the key sequence of the given site is stable for
+	 * {@link #SHAPE_THRESHOLD} objects in a row, then a {@link Shape} get installed for that site. So the next objects parsed at that site will expect
+	 * the same key sequence.
+	 *
+	 * @param site    the parse site of the object (see {@link #site(ParseToken)})
+	 * @param shape   the shape of the given site when the parsing started. Or null if the site have no shape
+	 * @param sources the trimmed sources of the keys (in order)
+	 * @param keys    the keys parsed (in order)
+	 * @throws NullPointerException if the given 'site' or 'sources' or 'keys' is null
+	 */
+	protected void profile(Object site, Shape shape, List<String> sources, List keys) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(site, "site");
+			Objects.requireNonNull(sources, "sources");
+			Objects.requireNonNull(keys, "keys");
+		}
+
+		if (shape != null && shape.matches(sources)) {
+			//the same shape again
+			shape.hit(this.SHAPE_THRESHOLD);
+		} else if (shape == null || shape.miss()) {
+			//only immutable keys can be shared across objects
+			for (Object key : keys)
+				if (!(key instanceof String))
+					return;
+			//a new site (when there are too many sites already)
+			if (shape == null && this.SHAPES.size() >= SHAPES_LIMIT)
+				return;
+
+			this.SHAPES.put(site, new Shape(sources.toArray(new String[0]), keys.toArray()));
+		}
+	}
+
+	/**
+	 * Get the parse site of the given token. The parse site of a value is the path to it from the document root (the keys of the objects and the
+	 * elements of the arrays it is nested in), starting with the family of the class the document is parsed to. So, all the objects nested at the
+	 * same path in documents of the same class have the same site. (while objects at different paths don't)
+	 *
+	 * @param token the parsing instance that holds the variables of this parsing
+	 * @return the parse site of the given token
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected Object site(ParseToken token) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		Object site = token.getData("site");
+		return site == null ? token.klazz.getFamily() : site;
+	}
+
+	/**
+	 * Get the shared instance that is equal to the given value. If the given token has a sharing table (the key "shared" in {@link
+	 * ParseToken#tree}). Otherwise, the given value will be returned.
+	 * <p>
+	 * Only immutable leaves (see {@link #LEAVES}), lists and maps (with leaf keys) are shared. The shared instance of a list or a map is an
+	 * unmodifiable view of the first of its kind. Values are parsed bottom-up. So, when a container is shared, its members have already been shared.
+	 * Then, containers are compared by the identity of their members (see {@link Structure}). So, no container is hashed (or compared) more than
+	 * once.
+	 *
+	 * @param token the parsing instance that holds the variables of this parsing
+	 * @param value the value to get the shared instance of
+	 * @return the shared instance equal to the given value. Or the given value if it can't be shared (or sharing is disabled)
+	 * @throws NullPointerException if the given 'token' is null
+	 */
+	protected Object share(ParseToken token, Object value) {
+		if (DEBUGGING) {
+			Objects.requireNonNull(token, "token");
+		}
+
+		Map shared = (Map) token.tree.get("shared");
+
+		if (shared == null || value == null)
+			return value;
+
+		if (LEAVES.contains(value.getClass())) {
+			Object existing = shared.putIfAbsent(value, value);
+			return existing == null ? value : existing;
+		}
+
+		if (value instanceof Map)
+			for (Object key : ((Map) value).keySet())
+				if (key == null || !LEAVES.contains(key.getClass()))
+					return value;
+
+		if (!(value instanceof List) && !(value instanceof Map))
+			return value;
+
+		Structure structure = new Structure(value);
+		Object existing = shared.get(structure);
+
+		if (existing == null) {
+			existing = value instanceof List ?
+					   Collections.unmodifiableList((List) value) :
+					   Collections.unmodifiableMap((Map) value);
+			shared.put(structure, existing);
+		}
+
+		return existing;
+	}
+
+	/**
+	 * The hash of the source of a member region of a container on the last parsing, and the value it was parsed to. (the source itself is not
+	 * kept)
+	 */
+	protected static final class Region {
+		/**
+		 * The end of this region at the chunk it was read from. (exclusive)
+		 */
+		final int end;
+		/**
+		 * The hash of the source of this region.
+		 */
+		final long hash;
+		/**
+		 * The start of this region at the chunk it was read from. (inclusive)
+		 */
+		final int start;
+		/**
+		 * The value this region was parsed to.
+		 */
+		final Object value;
+
+		/**
+		 * Construct a new region of the given range of the given text.
+		 *
+		 * @param text  the text the region was read from
+		 * @param start the start of the region (inclusive)
+		 * @param end   the end of the region (exclusive)
+		 * @param value the value the region was parsed to
+		 * @throws NullPointerException if the given 'text' is null
+		 */
+		Region(CharSequence text, int start, int end, Object value) {
+			Objects.requireNonNull(text, "text");
+			this.start = start;
+			this.end = end;
+			this.hash = Region.hash(text, start, end);
+			this.value = value;
+		}
+
+		/**
+		 * Calculate the hash of the given range of the given text. (64-bit FNV-1a)
+		 *
+		 * @param text  the text to be hashed
+		 * @param start the start of the range (inclusive)
+		 * @param end   the end of the range (exclusive)
+		 * @return the hash of the given range of the given text
+		 */
+		static long hash(CharSequence text, int start, int end) {
+			long hash = 0xcbf29ce484222325L;
+
+			for (int i = start; i < end; i++)
+				hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+
+			return hash;
+		}
+
+		/**
+		 * Determine if the given range of the given text is (most likely) the source of this region. By comparing the lengths and the hashes.
+		 *
+		 * @param text  the text to be compared
+		 * @param start the start of the range (inclusive)
+		 * @param end   the end of the range (exclusive)
+		 * @return true, if the given range have the same length and hash as the source of this region
+		 */
+		boolean matches(CharSequence text, int start, int end) {
+			return end - start == this.end - this.start && Region.hash(text, start, end) == this.hash;
+		}
+	}
 
-		NESTABLE.put(SYNTAX.FENCE_OBJECT[0], SYNTAX.FENCE_OBJECT[1]);
-		NESTABLE.put(SYNTAX.FENCE_ARRAY[0], SYNTAX.FENCE_ARRAY[1]);
+	/**
+	 * A path from a document root to a nested value. (see {@link #site(ParseToken)})
+	 */
+	protected static final class Site {
+		/**
+		 * The hash of this site.
+		 */
+		final int hash;
+		/**
+		 * The key of the value at its container. Or null for the elements of arrays.
+		 */
+		final Object key;
+		/**
+		 * The site of the container.
+		 */
+		final Object parent;
+
+		/**
+		 * Construct a new site of the values at the given key of the containers at the given site.
+		 *
+		 * @param parent the site of the container
+		 * @param key    the key of the value at its container. Or null for the elements of arrays
+		 * @throws NullPointerException if the given 'parent' is null
+		 */
+		Site(Object parent, Object key) {
+			Objects.requireNonNull(parent, "parent");
+			this.parent = parent;
+			this.key = key;
+			this.hash = 31 * parent.hashCode() + Objects.hashCode(key);
+		}
 
-		LITERAL.putAll(SYNTAX.FENCE_COMMENT);
-		LITERAL.put(SYNTAX.FENCE_STRING[0], SYNTAX.FENCE_STRING[1]);
+		@Override
+		public boolean equals(Object object) {
+			if (object == this)
+				return true;
+			if (!(object instanceof Site))
+				return false;
 
-		ESCAPABLE.addAll(SYNTAX.ESCAPABLES.values());
+			Site other = (Site) object;
+			return other.hash == this.hash && Objects.equals(other.key, this.key) && other.parent.equals(this.parent);
+		}
 
-		return this;
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+
+	/**
+	 * A key sequence (shape) of the objects parsed at some parse site. Once installed, objects parsed at that site are expected to have their keys in
+	 * the same order. Keys matching the expected sequence skip the classification, parsing and duplication checks. The first key that does not match
+	 * switches the parsing of that object back to the generic path.
+	 */
+	protected static final class Shape {
+		/**
+		 * The number of objects (in a row, mostly) that had this shape.
+		 */
+		final AtomicInteger hits = new AtomicInteger(1);
+		/**
+		 * The keys (in order) of this shape.
+		 */
+		final Object[] keys;
+		/**
+		 * The keys of this shape as a set.
+		 */
+		final Set keySet;
+		/**
+		 * The trimmed sources of the keys (in order) of this shape.
+		 */
+		final String[] sources;
+
+		/**
+		 * Construct a new shape with the given keys.
+		 *
+		 * @param sources the trimmed sources of the keys
+		 * @param keys    the parsed keys
+		 * @throws NullPointerException if the given 'sources' or 'keys' is null
+		 */
+		Shape(String[] sources, Object[] keys) {
+			Objects.requireNonNull(sources, "sources");
+			Objects.requireNonNull(keys, "keys");
+			this.sources = sources;
+			this.keys = keys;
+			this.keySet = Collections.unmodifiableSet(new HashSet(Arrays.asList(keys)));
+		}
+
+		/**
+		 * Record an object that had this shape.
+		 *
+		 * @param threshold the threshold of installing shapes (no need to count beyond it)
+		 */
+		void hit(int threshold) {
+			int hits = this.hits.get();
+			if (hits < threshold)
+				this.hits.compareAndSet(hits, hits + 1);
+		}
+
+		/**
+		 * Determine if this shape is stable enough to be expected.
+		 *
+		 * @param threshold the threshold of installing shapes
+		 * @return true, if this shape had {@code threshold} hits
+		 */
+		boolean installed(int threshold) {
+			return this.hits.get() >= threshold;
+		}
+
+		/**
+		 * Determine if the given key sources are the sources of this shape.
+		 *
+		 * @param sources the trimmed sources of the keys
+		 * @return true, if the given sources are the sources of this shape
+		 */
+		boolean matches(List<String> sources) {
+			if (sources.size() != this.sources.length)
+				return false;
+
+			for (int i = 0; i < this.sources.length; i++)
+				if (!this.sources[i].equals(sources.get(i)))
+					return false;
+
+			return true;
+		}
+
+		/**
+		 * Record an object that did not have this shape.
+		 *
+		 * @return true, if this shape should be replaced
+		 */
+		boolean miss() {
+			return this.hits.decrementAndGet() <= 0;
+		}
+	}
+
+	/**
+	 * The key of a shared container in a sharing table. Two structures are equal if their containers are of the same class and have the same
+	 * members (compared by identity, since the members are shared before their container). The hash of a structure is computed once from the
+	 * identity hashes of the members. So, the members are not re-hashed.
+	 */
+	protected static final class Structure {
+		/**
+		 * The container of this structure. (a list or a map)
+		 */
+		final Object container;
+		/**
+		 * The hash of this structure.
+		 */
+		final int hash;
+
+		/**
+		 * Construct a new structure of the given container.
+		 *
+		 * @param container the container (a list or a map)
+		 * @throws NullPointerException if the given 'container' is null
+		 * @throws ClassCastException   if the given 'container' is neither a list nor a map
+		 */
+		Structure(Object container) {
+			Objects.requireNonNull(container, "container");
+			int hash = container.getClass().hashCode();
+
+			if (container instanceof List)
+				for (Object member : (List) container)
+					hash = 31 * hash + System.identityHashCode(member);
+			else for (Map.Entry entry : (Set<Map.Entry>) ((Map) container).entrySet())
+				//unordered
+				hash += entry.getKey().hashCode() ^ System.identityHashCode(entry.getValue());
+
+			this.container = container;
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (object == this)
+				return true;
+			if (!(object instanceof Structure))
+				return false;
+
+			Structure other = (Structure) object;
+
+			if (other.hash != this.hash || other.container.getClass() != this.container.getClass())
+				return false;
+
+			if (this.container instanceof List) {
+				List list = (List) this.container;
+				List otherList = (List) other.container;
+
+				if (list.size() != otherList.size())
+					return false;
+
+				Iterator iterator = otherList.iterator();
+				for (Object member : list)
+					if (member != iterator.next())
+						return false;
+
+				return true;
+			}
+
+			Map map = (Map) this.container;
+			Map otherMap = (Map) other.container;
+
+			if (map.size() != otherMap.size())
+				return false;
+
+			for (Map.Entry entry : (Set<Map.Entry>) map.entrySet()) {
+				Object value = otherMap.get(entry.getKey());
+
+				if (value != entry.getValue() || value == null && !otherMap.containsKey(entry.getKey()))
+					return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+	}
+
+	/**
+	 * A structure holding the options of a JSON formatter. (read once by the constructor of the formatter)
+	 */
+	public static class Options {
+		/**
+		 * The number of characters expected for values.
+		 */
+		public int BUFFER_SIZE;
+		/**
+		 * If the formatter should be in a debugging mode.
+		 */
+		public boolean DEBUGGING;
+		/**
+		 * The number of whitespaces characters expected to be read continuously.
+		 */
+		public int MARK_LENGTH;
+		/**
+		 * The number of objects in a row with the same key sequence required to install a shape for their parse site. (zero to disable shapes)
+		 */
+		public int SHAPE_THRESHOLD;
+		/**
+		 * If structurally identical values should be parsed into a single shared instance.
+		 */
+		public boolean SHARING;
+
+		/**
+		 * Set the defaults of these options.
+		 *
+		 * @return this
+		 */
+		public Options setDefaults() {
+			BUFFER_SIZE = 20;
+			DEBUGGING = false;
+			MARK_LENGTH = 20;
+			SHAPE_THRESHOLD = 0;
+			SHARING = false;
+
+			return this;
+		}
 	}
 
 	/**
@@ -1094,6 +1962,35 @@ public class JSON extends AbstractFormat {
 		 */
 		public String WS_TAB = "\t";
 
+		/**
+		 * Construct a new empty syntax.
+		 */
+		public Syntax() {
+		}
+
+		/**
+		 * Construct a frozen copy of the given syntax. The maps of the copy are unmodifiable and its arrays are copies of the arrays of the given
+		 * syntax.
+		 *
+		 * @param syntax the syntax to be copied
+		 * @throws NullPointerException if the given 'syntax' is null
+		 */
+		public Syntax(Syntax syntax) {
+			Objects.requireNonNull(syntax, "syntax");
+			ESCAPABLES = Collections.unmodifiableMap(new LinkedHashMap<>(syntax.ESCAPABLES));
+			FENCE_COMMENT = Collections.unmodifiableMap(new LinkedHashMap<>(syntax.FENCE_COMMENT));
+			FENCE_ARRAY = syntax.FENCE_ARRAY.clone();
+			FENCE_OBJECT = syntax.FENCE_OBJECT.clone();
+			FENCE_STRING = syntax.FENCE_STRING.clone();
+			OPERATOR_DECLARATION = syntax.OPERATOR_DECLARATION.clone();
+			OPERATOR_SEPARATOR = syntax.OPERATOR_SEPARATOR.clone();
+			VALUE_BOOLEAN = syntax.VALUE_BOOLEAN.clone();
+			VALUE_NULL = syntax.VALUE_NULL.clone();
+			VALUE_NUMBER = syntax.VALUE_NUMBER.clone();
+			WS_LN = syntax.WS_LN;
+			WS_TAB = syntax.WS_TAB;
+		}
+
 		/**
 		 * Set the defaults of this syntax.
 		 *
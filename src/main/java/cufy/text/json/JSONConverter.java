@@ -18,6 +18,7 @@ package cufy.text.json;
 import cufy.convert.BaseConverter;
 import cufy.convert.ConvertMethod;
 import cufy.convert.ConvertToken;
+import cufy.io.CharSequenceReader;
 import cufy.meta.Filter;
 import cufy.meta.Where;
 import cufy.text.ClassifyToken;
@@ -26,7 +27,7 @@ import cufy.text.ParseToken;
 
 import java.io.IOError;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.util.Objects;
 
@@ -113,7 +114,7 @@ public class JSONConverter extends BaseConverter {
 		}
 
 		try {
-			StringReader reader = new StringReader(token.input);
+			Reader reader = new CharSequenceReader(token.input);
 			token.output = JSON.global.parse(new ParseToken<>(
 					reader,
 					null,
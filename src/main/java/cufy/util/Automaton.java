@@ -0,0 +1,378 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * An immutable deterministic automaton (Aho-Corasick) over a fixed list of patterns. Each state represents the longest suffix of the characters
+ * read so far that is a prefix of some pattern. Reading a character costs one table lookup. And allocates nothing.
+ * <p>
+ * Note: the patterns are identified by their index on the list given to the constructor.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public final class Automaton {
+	/**
+	 * The initial state (no characters matched).
+	 */
+	public static final int ROOT = 0;
+
+	/**
+	 * The sorted distinct characters of the patterns.
+	 */
+	private final char[] alphabet;
+	/**
+	 * The column of each ascii character. (-1 if the character is not in the alphabet)
+	 */
+	private final int[] ascii = new int[128];
+	/**
+	 * The trie edges. (-1 if there is no edge)
+	 */
+	private final int[] children;
+	/**
+	 * The length of the prefix each state represents.
+	 */
+	private final int[] depths;
+	/**
+	 * The index of the first pattern ending exactly at each state. (-1 if no pattern ends exactly at that state)
+	 */
+	private final int[] exacts;
+	/**
+	 * The index of the first pattern that is a suffix of the prefix each state represents. (-1 if no pattern is)
+	 */
+	private final int[] firsts;
+	/**
+	 * If no pattern continues after each state.
+	 */
+	private final boolean[] leaves;
+	/**
+	 * The patterns that are a suffix of the prefix each state represents.
+	 */
+	private final BitSet[] outputs;
+	/**
+	 * The patterns of this.
+	 */
+	private final String[] patterns;
+	/**
+	 * The length of the longest pattern of this.
+	 */
+	private final int longest;
+	/**
+	 * The number of states of this.
+	 */
+	private final int size;
+	/**
+	 * The complete transition table.
+	 */
+	private final int[] transitions;
+
+	/**
+	 * Compile a new automaton for the given patterns.
+	 *
+	 * @param patterns the patterns of the automaton
+	 * @throws NullPointerException if the given 'patterns' or any of its elements is null
+	 */
+	public Automaton(String... patterns) {
+		Objects.requireNonNull(patterns, "patterns");
+		this.patterns = patterns.clone();
+
+		//the alphabet
+		StringBuilder builder = new StringBuilder();
+		for (String pattern : this.patterns)
+			builder.append(Objects.requireNonNull(pattern, "pattern"));
+		char[] chars = builder.toString().toCharArray();
+		Arrays.sort(chars);
+		int distinct = 0;
+		for (int i = 0; i < chars.length; i++)
+			if (i == 0 || chars[i] != chars[i - 1])
+				chars[distinct++] = chars[i];
+		this.alphabet = Arrays.copyOf(chars, distinct);
+
+		Arrays.fill(this.ascii, -1);
+		for (int i = 0; i < this.alphabet.length && this.alphabet[i] < 128; i++)
+			this.ascii[this.alphabet[i]] = i;
+
+		//the trie
+		int width = this.alphabet.length;
+		int capacity = chars.length + 1;
+		int[] children = new int[capacity * width];
+		int[] depths = new int[capacity];
+		int[] exacts = new int[capacity];
+		BitSet[] outputs = new BitSet[capacity];
+		Arrays.fill(children, -1);
+		Arrays.fill(exacts, -1);
+		outputs[ROOT] = new BitSet();
+		int size = 1;
+		int longest = 0;
+
+		for (int i = 0; i < this.patterns.length; i++) {
+			String pattern = this.patterns[i];
+			int state = ROOT;
+
+			for (int j = 0; j < pattern.length(); j++) {
+				int edge = state * width + this.column(pattern.charAt(j));
+
+				if (children[edge] == -1) {
+					depths[size] = depths[state] + 1;
+					outputs[size] = new BitSet();
+					children[edge] = size++;
+				}
+
+				state = children[edge];
+			}
+
+			if (exacts[state] == -1)
+				exacts[state] = i;
+			outputs[state].set(i);
+			longest = Math.max(longest, pattern.length());
+		}
+
+		this.size = size;
+		this.children = Arrays.copyOf(children, size * width);
+		this.depths = Arrays.copyOf(depths, size);
+		this.exacts = Arrays.copyOf(exacts, size);
+		this.longest = longest;
+		this.outputs = Arrays.copyOf(outputs, size);
+		this.leaves = new boolean[size];
+		for (int state = 0; state < size; state++) {
+			this.leaves[state] = true;
+			for (int column = 0; column < width; column++)
+				if (this.children[state * width + column] != -1) {
+					this.leaves[state] = false;
+					break;
+				}
+		}
+
+		//the failure links (breadth first)
+		int[] transitions = new int[size * width];
+		int[] failures = new int[size];
+		int[] queue = new int[size];
+		int head = 0;
+		int tail = 0;
+
+		for (int column = 0; column < width; column++) {
+			int child = this.children[column];
+
+			if (child == -1) {
+				transitions[column] = ROOT;
+			} else {
+				transitions[column] = child;
+				failures[child] = ROOT;
+				this.outputs[child].or(this.outputs[ROOT]);
+				queue[tail++] = child;
+			}
+		}
+
+		while (head < tail) {
+			int state = queue[head++];
+
+			for (int column = 0; column < width; column++) {
+				int child = this.children[state * width + column];
+				int fallback = transitions[failures[state] * width + column];
+
+				if (child == -1) {
+					transitions[state * width + column] = fallback;
+				} else {
+					transitions[state * width + column] = child;
+					failures[child] = fallback;
+					this.outputs[child].or(this.outputs[fallback]);
+					queue[tail++] = child;
+				}
+			}
+		}
+
+		this.transitions = transitions;
+
+		this.firsts = new int[size];
+		for (int state = 0; state < size; state++)
+			this.firsts[state] = this.outputs[state].nextSetBit(0);
+	}
+
+	/**
+	 * Get the trie child of the given state through the given character. The child represents the prefix of the given state followed by the given
+	 * character.
+	 *
+	 * @param state the parent state
+	 * @param c     the character to follow
+	 * @return the child of the given state through the given character. Or -1 if no pattern continues that way
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public int child(int state, char c) {
+		int column = this.column(c);
+		return column == -1 ? -1 : this.children[state * this.alphabet.length + column];
+	}
+
+	/**
+	 * Add the indexes of the patterns that the characters read to reach the given state ends with to the given set.
+	 *
+	 * @param state the state reached
+	 * @param found the set to add the indexes to
+	 * @throws NullPointerException           if the given 'found' is null
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public void collect(int state, BitSet found) {
+		Objects.requireNonNull(found, "found");
+		found.or(this.outputs[state]);
+	}
+
+	/**
+	 * Get the length of the prefix the given state represents.
+	 *
+	 * @param state the state to get its depth
+	 * @return the depth of the given state
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public int depth(int state) {
+		return this.depths[state];
+	}
+
+	/**
+	 * Check if the characters read to reach the given state ends with the pattern at the given index.
+	 *
+	 * @param state   the state reached
+	 * @param pattern the index of the pattern
+	 * @return true, if the pattern at the given index is a suffix of the characters read to reach the given state
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public boolean endsWith(int state, int pattern) {
+		return this.outputs[state].get(pattern);
+	}
+
+	/**
+	 * Get the index of the first pattern (in order) that equals the prefix the given state represents.
+	 *
+	 * @param state the state to check
+	 * @return the index of the first pattern ending exactly at the given state. Or -1 if no pattern ends exactly at the given state
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public int exact(int state) {
+		return this.exacts[state];
+	}
+
+	/**
+	 * Get the index of the first pattern (in order) that the characters read to reach the given state ends with.
+	 *
+	 * @param state the state reached
+	 * @return the index of the first pattern that is a suffix of the characters read to reach the given state. Or -1 if no pattern is
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public int first(int state) {
+		return this.firsts[state];
+	}
+
+	/**
+	 * Check if no pattern continues after the given state. (the given state have no trie children)
+	 *
+	 * @param state the state to check
+	 * @return true, if the given state is a leaf of the trie of this
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public boolean leaf(int state) {
+		return this.leaves[state];
+	}
+
+	/**
+	 * Get the length of the longest pattern of this.
+	 *
+	 * @return the length of the longest pattern
+	 */
+	public int longest() {
+		return this.longest;
+	}
+
+	/**
+	 * Check if the given state has any pattern as a suffix. (a pattern have been found)
+	 *
+	 * @param state the state to check
+	 * @return true, if any pattern is a suffix of the characters read to reach the given state
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public boolean matches(int state) {
+		return this.firsts[state] != -1;
+	}
+
+	/**
+	 * Get the state reached after reading the given character at the given state.
+	 *
+	 * @param state the current state
+	 * @param c     the character read
+	 * @return the next state
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public int next(int state, char c) {
+		int column = this.column(c);
+		return column == -1 ? ROOT : this.transitions[state * this.alphabet.length + column];
+	}
+
+	/**
+	 * Get the pattern at the given index.
+	 *
+	 * @param index the index of the pattern
+	 * @return the pattern at the given index
+	 * @throws ArrayIndexOutOfBoundsException if the given 'index' is out of bounds
+	 */
+	public String pattern(int index) {
+		return this.patterns[index];
+	}
+
+	/**
+	 * Get the number of patterns of this.
+	 *
+	 * @return the number of patterns
+	 */
+	public int patternCount() {
+		return this.patterns.length;
+	}
+
+	/**
+	 * Get the number of states of this.
+	 *
+	 * @return the number of states
+	 */
+	public int stateCount() {
+		return this.size;
+	}
+
+	/**
+	 * Check if some pattern ends exactly at the given state. (the prefix the given state represents is a whole pattern)
+	 *
+	 * @param state the state to check
+	 * @return true, if the given state is the end of some pattern
+	 * @throws ArrayIndexOutOfBoundsException if the given 'state' is not a state of this
+	 */
+	public boolean terminal(int state) {
+		return this.exacts[state] != -1;
+	}
+
+	/**
+	 * Get the column of the given character on the tables of this.
+	 *
+	 * @param c the character
+	 * @return the column of the given character. Or -1 if the given character is not in the alphabet of this
+	 */
+	private int column(char c) {
+		if (c < 128)
+			return this.ascii[c];
+
+		int index = Arrays.binarySearch(this.alphabet, c);
+		return index < 0 ? -1 : index;
+	}
+}
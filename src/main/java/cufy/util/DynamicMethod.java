@@ -0,0 +1,71 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * A resolved dynamic method. Holds the method and a handle of it adapted to the type its callers invoke it with. The handle is resolved once (when
+ * the method is resolved). Then held in a final field. So, invoking the method costs no lookup.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public final class DynamicMethod {
+	/**
+	 * A handle of the method. Adapted to the type of the callers.
+	 */
+	public final MethodHandle handle;
+	/**
+	 * The method.
+	 */
+	public final Method method;
+
+	/**
+	 * Resolve the given method. Adapting its handle to the given type.
+	 *
+	 * @param method the method to be resolved
+	 * @param type   the type to adapt the handle of the method to
+	 * @throws NullPointerException     if the given 'method' or 'type' is null
+	 * @throws IllegalArgumentException if the given method have limited access. Or if the given method have illegal parameters count
+	 */
+	public DynamicMethod(Method method, MethodType type) {
+		Objects.requireNonNull(method, "method");
+		Objects.requireNonNull(type, "type");
+
+		try {
+			method.setAccessible(true);
+			this.handle = MethodHandles.lookup().unreflect(method).asType(type);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(method + " have limited access", e);
+		} catch (WrongMethodTypeException e) {
+			throw new IllegalArgumentException(method + " have illegal parameters", e);
+		}
+
+		this.method = method;
+	}
+
+	@Override
+	public String toString() {
+		return this.method.toString();
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A group that gets its elements from a supplier the first time it is accessed. Then delegates every call to the group supplied. So, a group that is
+ * never accessed costs nothing.
+ * <p>
+ * Note: the supplier is invoked at most once (unless it fails).
+ *
+ * @param <E> the type of the elements
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public class LazyGroup<E> extends AbstractCollection<E> implements Group<E> {
+	/**
+	 * The supplier of the group of this.
+	 */
+	private final Supplier<? extends Group<E>> supplier;
+	/**
+	 * The group supplied. (null until the first access)
+	 */
+	private volatile Group<E> group;
+
+	/**
+	 * Construct a new group that gets its elements from the given supplier the first time it is accessed.
+	 *
+	 * @param supplier the supplier of the group to delegate to
+	 * @throws NullPointerException if the given 'supplier' is null
+	 */
+	public LazyGroup(Supplier<? extends Group<E>> supplier) {
+		Objects.requireNonNull(supplier, "supplier");
+		this.supplier = supplier;
+	}
+
+	@Override
+	public boolean add(E element) {
+		return this.group().add(element);
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> collection) {
+		return this.group().addAll(collection);
+	}
+
+	@Override
+	public void clear() {
+		this.group().clear();
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		return this.group().contains(object);
+	}
+
+	@Override
+	public boolean equals(Object object) {
+		return object == this || this.group().equals(object);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.group().hashCode();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return this.group().iterator();
+	}
+
+	@Override
+	public boolean remove(Object object) {
+		return this.group().remove(object);
+	}
+
+	@Override
+	public int size() {
+		return this.group().size();
+	}
+
+	@Override
+	public Group<E> subGroup(Object key, Predicate<E> predicate) {
+		return this.group().subGroup(key, predicate);
+	}
+
+	@Override
+	public Group<E> subGroup(Object key) {
+		return this.group().subGroup(key);
+	}
+
+	@Override
+	public String toString() {
+		return this.group().toString();
+	}
+
+	/**
+	 * Get the group of this. Supply it if this is the first access.
+	 *
+	 * @return the group of this
+	 * @throws NullPointerException if the supplier supplied null
+	 */
+	protected Group<E> group() {
+		Group<E> group = this.group;
+
+		if (group == null)
+			synchronized (this) {
+				group = this.group;
+
+				if (group == null) {
+					group = Objects.requireNonNull(this.supplier.get(), "group");
+					this.group = group;
+				}
+			}
+
+		return group;
+	}
+}
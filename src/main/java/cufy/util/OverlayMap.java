@@ -0,0 +1,310 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import java.util.*;
+
+/**
+ * A map that can be forked in constant time. A fork starts with the same mappings as the map it was forked from. Then each of them changes
+ * independently. The mappings at the time of forking are frozen into an immutable layer shared by both maps (structural sharing). Then each map
+ * writes its changes into its own local layer (allocated lazily). Removals of shared mappings are recorded as tombstones.
+ * <p>
+ * Note: lookups walk the layers. The layers are flattened once their count exceeds {@link #MAX_LAYERS}. Also, forking a map writes to it (its local
+ * layer is frozen). So, a map to be forked by many threads at once should be {@link #freeze() frozen} first (then forking it only reads it).
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public class OverlayMap<K, V> extends AbstractMap<K, V> {
+	/**
+	 * The maximum number of frozen layers before flattening them.
+	 */
+	public static final int MAX_LAYERS = 16;
+	/**
+	 * The value that marks a removed mapping.
+	 */
+	private static final Object TOMBSTONE = new Object();
+
+	/**
+	 * The frozen (shared) mappings of this. (null if none)
+	 */
+	private Layer base;
+	/**
+	 * The mappings changed on this since the last fork. (null until the first change)
+	 */
+	private Map<Object, Object> local;
+	/**
+	 * The number of the effective mappings of this.
+	 */
+	private int size;
+
+	/**
+	 * Construct a new empty overlay map.
+	 */
+	public OverlayMap() {
+	}
+
+	/**
+	 * Construct a new overlay map with the mappings of the given map.
+	 *
+	 * @param map the initial mappings
+	 * @throws NullPointerException if the given 'map' is null
+	 */
+	public OverlayMap(Map<? extends K, ? extends V> map) {
+		Objects.requireNonNull(map, "map");
+		if (!map.isEmpty()) {
+			this.local = new HashMap<>(map);
+			this.size = this.local.size();
+		}
+	}
+
+	/**
+	 * Construct a new overlay map over the given frozen layer.
+	 *
+	 * @param base the frozen mappings
+	 * @param size the number of the effective mappings of the given layer
+	 */
+	private OverlayMap(Layer base, int size) {
+		this.base = base;
+		this.size = size;
+	}
+
+	@Override
+	public void clear() {
+		this.base = null;
+		this.local = null;
+		this.size = 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.lookup(key) != TOMBSTONE;
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<Entry<K, V>>() {
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				Iterator<Entry<K, V>> iterator = OverlayMap.this.flatten().entrySet().iterator();
+
+				return new Iterator<Entry<K, V>>() {
+					/**
+					 * The last entry returned.
+					 */
+					private Entry<K, V> last;
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Entry<K, V> next() {
+						Entry<K, V> next = iterator.next();
+						this.last = next;
+						return new SimpleEntry<K, V>(next) {
+							@Override
+							public V setValue(V value) {
+								OverlayMap.this.put(next.getKey(), value);
+								return super.setValue(value);
+							}
+						};
+					}
+
+					@Override
+					public void remove() {
+						if (this.last == null)
+							throw new IllegalStateException();
+
+						OverlayMap.this.remove(this.last.getKey());
+						this.last = null;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return OverlayMap.this.size();
+			}
+		};
+	}
+
+	/**
+	 * Get a fork of this map. The returned map has the same mappings as this. Changes on this won't affect the returned map. And changes on the
+	 * returned map won't affect this.
+	 * <p>
+	 * Note: this map is {@link #freeze() frozen} first. So, this writes to this map unless it was frozen (and not changed) before.
+	 *
+	 * @return a fork of this map
+	 */
+	public OverlayMap<K, V> fork() {
+		this.freeze();
+		return new OverlayMap<>(this.base, this.size);
+	}
+
+	/**
+	 * Freeze the changes of this map into its shared layers. The mappings of this won't change. But, after this, forking this map (until the next
+	 * change) only reads it. So, it can be forked by many threads at once.
+	 */
+	public void freeze() {
+		if (this.local != null && !this.local.isEmpty()) {
+			this.base = new Layer(this.local, this.base);
+			this.local = null;
+		}
+		if (this.base != null && this.base.depth > MAX_LAYERS)
+			this.base = new Layer(new HashMap<>(this.flatten()), null);
+	}
+
+	@Override
+	public V get(Object key) {
+		Object value = this.lookup(key);
+		//noinspection unchecked
+		return value == TOMBSTONE ? null : (V) value;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		Object old = this.lookup(key);
+
+		if (this.local == null)
+			this.local = new HashMap<>();
+
+		this.local.put(key, value);
+
+		if (old == TOMBSTONE) {
+			this.size++;
+			//noinspection ReturnOfNull
+			return null;
+		}
+
+		//noinspection unchecked
+		return (V) old;
+	}
+
+	@Override
+	public V remove(Object key) {
+		Object old = this.lookup(key);
+
+		if (old == TOMBSTONE)
+			//noinspection ReturnOfNull
+			return null;
+
+		if (this.local == null)
+			this.local = new HashMap<>();
+
+		if (this.base != null && this.base.lookup(key) != TOMBSTONE)
+			this.local.put(key, TOMBSTONE);
+		else this.local.remove(key);
+
+		this.size--;
+		//noinspection unchecked
+		return (V) old;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Get the effective mappings of this in a new map.
+	 *
+	 * @return the effective mappings of this
+	 */
+	private Map<K, V> flatten() {
+		Map<Object, Object> map = new HashMap<>();
+		Set<Object> seen = new HashSet<>();
+
+		if (this.local != null)
+			for (Entry<Object, Object> entry : this.local.entrySet())
+				if (seen.add(entry.getKey()) && entry.getValue() != TOMBSTONE)
+					map.put(entry.getKey(), entry.getValue());
+
+		for (Layer layer = this.base; layer != null; layer = layer.parent)
+			for (Entry<Object, Object> entry : layer.entries.entrySet())
+				if (seen.add(entry.getKey()) && entry.getValue() != TOMBSTONE)
+					map.put(entry.getKey(), entry.getValue());
+
+		//noinspection unchecked
+		return (Map) map;
+	}
+
+	/**
+	 * Find the value mapped to the given key.
+	 *
+	 * @param key the key to find its value
+	 * @return the value mapped to the given key. Or {@link #TOMBSTONE} if the given key is not mapped
+	 */
+	private Object lookup(Object key) {
+		if (this.local != null && this.local.containsKey(key))
+			return this.local.get(key);
+
+		return this.base == null ? TOMBSTONE : this.base.lookup(key);
+	}
+
+	/**
+	 * An immutable layer of mappings.
+	 */
+	private static final class Layer {
+		/**
+		 * The number of layers from this layer to the bottom (inclusive).
+		 */
+		final int depth;
+		/**
+		 * The mappings of this layer. (tombstones for removed mappings)
+		 */
+		final Map<Object, Object> entries;
+		/**
+		 * The layer below this layer.
+		 */
+		final Layer parent;
+
+		/**
+		 * Construct a new layer.
+		 *
+		 * @param entries the mappings of the layer
+		 * @param parent  the layer below
+		 */
+		Layer(Map<Object, Object> entries, Layer parent) {
+			this.entries = entries;
+			this.parent = parent;
+			this.depth = parent == null ? 1 : parent.depth + 1;
+		}
+
+		/**
+		 * Find the value mapped to the given key on this layer or any layer below it.
+		 *
+		 * @param key the key to find its value
+		 * @return the value mapped to the given key. Or {@link #TOMBSTONE} if the given key is not mapped
+		 */
+		Object lookup(Object key) {
+			for (Layer layer = this; layer != null; layer = layer.parent)
+				if (layer.entries.containsKey(key))
+					return layer.entries.get(key);
+
+			return TOMBSTONE;
+		}
+	}
+}
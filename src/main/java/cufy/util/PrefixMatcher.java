@@ -0,0 +1,215 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable precompiled matcher that determines if the remaining characters of a sequence are equal to any of some strings. The strings are
+ * compiled into a trie once. Then each match walks the trie (one lookup per character) and allocates nothing.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public final class PrefixMatcher {
+	/**
+	 * The trie of the (trimmed and lower-cased, if needed) strings.
+	 */
+	private final Automaton automaton;
+	/**
+	 * If an empty string was given. (matches anything)
+	 */
+	private final boolean empty;
+	/**
+	 * When true, a match is taken only if the whole remaining characters equals one of the strings.
+	 */
+	private final boolean fullRead;
+	/**
+	 * When true, the characters are matched regardless of their case.
+	 */
+	private final boolean ignoreCase;
+	/**
+	 * When true, whitespaces at the start and the end are ignored.
+	 */
+	private final boolean trim;
+
+	/**
+	 * Compile a new matcher for the given strings.
+	 *
+	 * @param trim       when true, the matcher will ignore the first and last characters if it's whitespaces.
+	 * @param fullRead   when true, a string matches only if it equals all the remaining characters (otherwise, a match is taken once a string is read).
+	 * @param ignoreCase when true, the matcher will match the characters even if they're different case(ex. 'A' and 'a' will match).
+	 * @param strings    the strings to be matched.
+	 * @throws NullPointerException if the given {@code strings} or any of the given strings is null.
+	 */
+	public PrefixMatcher(boolean trim, boolean fullRead, boolean ignoreCase, String... strings) {
+		Objects.requireNonNull(strings, "strings");
+		this.trim = trim;
+		this.fullRead = fullRead;
+		this.ignoreCase = ignoreCase;
+
+		boolean empty = false;
+		List<String> patterns = new ArrayList<>(strings.length);
+
+		for (String string : strings) {
+			Objects.requireNonNull(string, "string");
+
+			if (string.isEmpty()) {
+				empty = true;
+				continue;
+			}
+
+			String pattern = trim ? string.trim() : string;
+
+			if (ignoreCase) {
+				char[] chars = pattern.toCharArray();
+				for (int i = 0; i < chars.length; i++)
+					chars[i] = Character.toLowerCase(chars[i]);
+				pattern = new String(chars);
+			}
+
+			//a string trimmed to nothing can't match after the leading whitespaces were skipped
+			if (!pattern.isEmpty())
+				patterns.add(pattern);
+		}
+
+		this.empty = empty;
+		this.automaton = new Automaton(patterns.toArray(new String[0]));
+	}
+
+	/**
+	 * Determine if the remaining characters in the given {@code sequence} are equal to any of the strings of this. Depending on the rules of this.
+	 *
+	 * @param sequence to read from.
+	 * @return true, if any of the strings of this does match the remaining characters in the given {@code sequence}.
+	 * @throws NullPointerException if the given {@code sequence} is null.
+	 */
+	public boolean matches(CharSequence sequence) {
+		Objects.requireNonNull(sequence, "sequence");
+		return this.matches(sequence, 0, sequence.length());
+	}
+
+	/**
+	 * Determine if the characters in the given range of the given {@code sequence} are equal to any of the strings of this. Depending on the rules
+	 * of this.
+	 *
+	 * @param sequence to read from.
+	 * @param start    the index of the first character (inclusive).
+	 * @param end      the index of the last character (exclusive).
+	 * @return true, if any of the strings of this does match the characters in the given range.
+	 * @throws NullPointerException      if the given {@code sequence} is null.
+	 * @throws IndexOutOfBoundsException if the given range is out of the bounds of the given {@code sequence}.
+	 */
+	public boolean matches(CharSequence sequence, int start, int end) {
+		Objects.requireNonNull(sequence, "sequence");
+		if (start < 0 || end < start || sequence.length() < end)
+			throw new IndexOutOfBoundsException();
+
+		if (this.empty)
+			//easy exit
+			return true;
+
+		int i = start;
+
+		if (this.trim)
+			while (i < end && Character.isWhitespace(sequence.charAt(i)))
+				i++;
+		if (i == end)
+			//empty from the start
+			return false;
+
+		int node = Automaton.ROOT;
+		boolean completed = false;
+
+		for (; i < end; i++) {
+			char c = this.ignoreCase ? Character.toLowerCase(sequence.charAt(i)) : sequence.charAt(i);
+
+			//a completed string survives trailing whitespaces only
+			completed = completed && this.trim && Character.isWhitespace(c);
+			node = node == -1 ? -1 : this.automaton.child(node, c);
+
+			if (node != -1 && this.automaton.terminal(node)) {
+				if (!this.fullRead)
+					//match!
+					return true;
+
+				completed = true;
+			}
+			if (node != -1 && this.automaton.leaf(node))
+				node = -1;
+			if (node == -1 && !completed)
+				return false;
+		}
+
+		return completed;
+	}
+
+	/**
+	 * Determine if the remaining string in the given {@code reader} is equal to any of the strings of this. Depending on the rules of this. The
+	 * position of the given {@code reader} after invoking this method is unspecified.
+	 *
+	 * @param reader to read from.
+	 * @return true, if any of the strings of this does match the remaining string in the given {@code reader}.
+	 * @throws NullPointerException if the given {@code reader} is null.
+	 * @throws IOException          if any I/O exception occurred.
+	 */
+	public boolean matches(Reader reader) throws IOException {
+		Objects.requireNonNull(reader, "reader");
+
+		if (this.empty)
+			//easy exit
+			return true;
+
+		int i = reader.read();
+
+		if (this.trim)
+			while (i != -1 && Character.isWhitespace(i))
+				i = reader.read();
+		if (i == -1)
+			//empty from the start
+			return false;
+
+		int node = Automaton.ROOT;
+		boolean completed = false;
+
+		do {
+			char c = (char) (this.ignoreCase ? Character.toLowerCase(i) : i);
+
+			//a completed string survives trailing whitespaces only
+			completed = completed && this.trim && Character.isWhitespace(c);
+			node = node == -1 ? -1 : this.automaton.child(node, c);
+
+			if (node != -1 && this.automaton.terminal(node)) {
+				if (!this.fullRead)
+					//match!
+					return true;
+
+				completed = true;
+			}
+			if (node != -1 && this.automaton.leaf(node))
+				node = -1;
+			if (node == -1 && !completed)
+				return false;
+		} while ((i = reader.read()) != -1);
+
+		return completed;
+	}
+}
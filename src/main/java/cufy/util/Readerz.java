@@ -17,10 +17,11 @@ package cufy.util;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Useful utils for {@link Reader}s.
@@ -31,6 +32,15 @@ import java.util.Objects;
  */
 @Deprecated
 public final class Readerz {
+	/**
+	 * The maximum number of matchers cached by {@link #isRemainingEquals}.
+	 */
+	private static final int MATCHERS_LIMIT = 256;
+	/**
+	 * The matchers compiled by {@link #isRemainingEquals}. Keyed by the arguments they were compiled for.
+	 */
+	private static final Map<List<Object>, PrefixMatcher> MATCHERS = new ConcurrentHashMap<>();
+
 	/**
 	 * This is an util class and must not be instanced as an object.
 	 *
@@ -108,65 +118,34 @@ public final class Readerz {
 	 * 		depending on the given rules.
 	 * @throws NullPointerException if the given {@code reader} or {@code strings} or any of the given strings is null.
 	 * @throws IOException          if any I/O exception occurred.
+	 * @see PrefixMatcher
+	 * @deprecated compile a {@link PrefixMatcher} once (in a constant) and use it instead. The matcher of each argument set is cached here. But the
+	 * 		cache still costs a lookup per call
 	 */
+	@Deprecated
 	public static boolean isRemainingEquals(Reader reader, boolean trim, boolean fullRead, boolean ignoreCase, String... strings) throws IOException {
 		Objects.requireNonNull(reader, "reader");
 		Objects.requireNonNull(strings, "strings");
 
-		List<String> list = new ArrayList<>(Arrayz.asList(strings));
-
-		if (list.contains(""))
-			//easy exit
-			return true;
-
-		if (ignoreCase || trim)
-			list.replaceAll(s -> {
-				String replacement = s;
-				if (trim)
-					replacement = replacement.trim();
-				if (ignoreCase)
-					replacement = replacement.toLowerCase();
-				return replacement;
-			});
-
-		int i = reader.read();
-
-		if (trim)
-			do {
-				if (i == -1)
-					//empty from the start
-					return false;
-				if (!Character.isWhitespace(i))
-					break;
-
-				i = reader.read();
-			} while (true);
-
-		do {
-			char c = (char) (ignoreCase ? Character.toLowerCase(i) : i);
-
-			ListIterator<String> iterator = list.listIterator();
-			while (iterator.hasNext()) {
-				String s = iterator.next();
-
-				if (!s.isEmpty()) {
-					if (s.charAt(0) == c) {
-						String sub = s.substring(1);
-
-						if (!fullRead && sub.isEmpty())
-							//match!
-							return true;
-
-						iterator.set(sub);
-						continue;
-					}
-				} else if (trim && Character.isWhitespace(c))
-					continue;
-
-				iterator.remove();
-			}
-		} while (!list.isEmpty() && (i = reader.read()) != -1);
-
-		return list.contains("");
+		Object[] arguments = new Object[strings.length + 3];
+		arguments[0] = trim;
+		arguments[1] = fullRead;
+		arguments[2] = ignoreCase;
+		System.arraycopy(strings, 0, arguments, 3, strings.length);
+
+		List<Object> key = Arrays.asList(arguments);
+		PrefixMatcher matcher = MATCHERS.get(key);
+
+		if (matcher == null) {
+			matcher = new PrefixMatcher(trim, fullRead, ignoreCase, strings);
+
+			//the arguments could be dynamic. So, don't let the cache grow forever
+			if (MATCHERS.size() >= MATCHERS_LIMIT)
+				MATCHERS.clear();
+
+			MATCHERS.put(key, matcher);
+		}
+
+		return matcher.matches(reader);
 	}
 }
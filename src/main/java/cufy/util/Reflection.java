@@ -15,12 +15,21 @@
  */
 package cufy.util;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -31,6 +40,11 @@ import java.util.Objects;
  * @since 0.0.a ~2019.06.11
  */
 public final class Reflection {
+	/**
+	 * The path of the dispatch tables generated at build time. (by {@code cufy.meta.DispatchProcessor})
+	 */
+	public static final String DISPATCH_TABLES = "META-INF/cufy/dispatch/";
+
 	/**
 	 * This is a utility class and shouldn't be instanced!.
 	 *
@@ -181,6 +195,108 @@ public final class Reflection {
 		return methods;
 	}
 
+	/**
+	 * Get the dynamic methods of the given class. From its dispatch table generated at build time. Each method is looked up directly. So, the
+	 * methods of the class and its superclasses are not scanned.
+	 * <p>
+	 * Note: the table is not verified (see {@link #getDispatchTable(Class, boolean)}). Only the hierarchy of the given class is compared with the
+	 * hierarchy the table was generated for.
+	 *
+	 * @param klass the class to get its dynamic methods
+	 * @return the dynamic methods (declared or inherited, and not overridden) of the given class. Or null if the given class has no dispatch table
+	 * 		(or its hierarchy has changed)
+	 * @throws NullPointerException if the given class is null
+	 * @see #DISPATCH_TABLES
+	 */
+	public static List<Method> getDispatchTable(Class klass) {
+		return Reflection.getDispatchTable(klass, false);
+	}
+
+	/**
+	 * Get the dynamic methods of the given class. From its dispatch table generated at build time. Each method is looked up directly. So, the
+	 * methods of the class and its superclasses are not scanned.
+	 * <p>
+	 * Note: the table is stale if the hierarchy of the given class has changed since the table was generated (always checked, it costs nothing). Or
+	 * if any class of that hierarchy declares dynamic methods other than the ones it declared when the table was generated (compared by the
+	 * fingerprints in the header of the table). The latter costs about as much as scanning the class. So, it is checked only if verifying.
+	 *
+	 * @param klass  the class to get its dynamic methods
+	 * @param verify true, to verify the methods declared by each class of the hierarchy of the given class (for debugging)
+	 * @return the dynamic methods (declared or inherited, and not overridden) of the given class. Or null if the given class has no dispatch table
+	 * 		(or its table is stale)
+	 * @throws NullPointerException if the given class is null
+	 * @see #DISPATCH_TABLES
+	 */
+	public static List<Method> getDispatchTable(Class klass, boolean verify) {
+		Objects.requireNonNull(klass, "klass");
+		ClassLoader loader = klass.getClassLoader();
+
+		if (loader == null)
+			//a bootstrap class
+			return null;
+
+		try (InputStream stream = loader.getResourceAsStream(DISPATCH_TABLES + klass.getName())) {
+			if (stream == null)
+				return null;
+
+			BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+			List<Class<? extends Annotation>> annotations = new ArrayList<>();
+			Map<String, String> fingerprints = new HashMap<>();
+			List<Method> methods = new ArrayList<>();
+
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (line.isEmpty())
+					continue;
+
+				if (line.startsWith("@ ")) {
+					if (verify)
+						for (String name : line.substring(2).split(" "))
+							try {
+								annotations.add(Class.forName(name, false, loader).asSubclass(Annotation.class));
+							} catch (ClassNotFoundException ignored) {
+								//no method can be annotated with a missing annotation
+							}
+
+					continue;
+				}
+				if (line.startsWith("# ")) {
+					int space = line.indexOf(' ', 2);
+					fingerprints.put(line.substring(2, space), line.substring(space + 1));
+					continue;
+				}
+
+				String[] names = line.split(" ");
+				Class[] parameters = new Class[names.length - 2];
+
+				for (int i = 0; i < parameters.length; i++)
+					parameters[i] = Reflection.forName(names[i + 2], loader);
+
+				methods.add(Class.forName(names[0], false, loader).getDeclaredMethod(names[1], parameters));
+			}
+
+			int classes = 0;
+			for (Class superclass = klass; superclass != null; superclass = superclass.getSuperclass(), classes++) {
+				String fingerprint = fingerprints.get(superclass.getName());
+
+				if (fingerprint == null)
+					//the hierarchy has changed
+					return null;
+				if (verify && !Reflection.fingerprint(superclass, annotations).equals(fingerprint))
+					//a class recompiled without updating the table
+					return null;
+			}
+
+			if (classes != fingerprints.size())
+				//the hierarchy has changed
+				return null;
+
+			return methods;
+		} catch (IOException | ReflectiveOperationException | ClassCastException e) {
+			//the table doesn't match the classes (scan the class instead)
+			return null;
+		}
+	}
+
 	/**
 	 * Check if the given class is or has a primitive class or not.
 	 *
@@ -401,4 +517,65 @@ public final class Reflection {
 
 		throw new ClassCastException("Cant cast " + value.getClass() + " to " + klass);
 	}
+
+	/**
+	 * Get the fingerprint of the methods declared in the given class and annotated with any of the given annotations. The count of the methods, then
+	 * the hash code of their signatures (the name of each method followed by the names of its parameter types. Separated by spaces) sorted and
+	 * joined with new lines. (the same fingerprint written by {@code cufy.meta.DispatchProcessor})
+	 *
+	 * @param klass       the class to get the fingerprint of its methods
+	 * @param annotations the annotations of the methods
+	 * @return the fingerprint of the annotated methods of the given class
+	 */
+	private static String fingerprint(Class klass, List<Class<? extends Annotation>> annotations) {
+		List<String> signatures = new ArrayList<>();
+
+		for (Method method : klass.getDeclaredMethods())
+			if (!method.isSynthetic())
+				//bridge methods are not in the source (but could have the annotations of the methods they bridge)
+				for (Class<? extends Annotation> annotation : annotations)
+					if (method.isAnnotationPresent(annotation)) {
+						StringBuilder signature = new StringBuilder(method.getName());
+
+						for (Class parameter : method.getParameterTypes())
+							signature.append(' ').append(parameter.getName());
+
+						signatures.add(signature.toString());
+						break;
+					}
+
+		Collections.sort(signatures);
+		return signatures.size() + " " + String.join("\n", signatures).hashCode();
+	}
+
+	/**
+	 * Get the class with the given name. Or the primitive class with the given name.
+	 *
+	 * @param name   the name of the class
+	 * @param loader the loader to load the class with
+	 * @return the class with the given name
+	 * @throws ClassNotFoundException if no class with the given name can be found
+	 */
+	private static Class forName(String name, ClassLoader loader) throws ClassNotFoundException {
+		switch (name) {
+			case "boolean":
+				return boolean.class;
+			case "byte":
+				return byte.class;
+			case "char":
+				return char.class;
+			case "double":
+				return double.class;
+			case "float":
+				return float.class;
+			case "int":
+				return int.class;
+			case "long":
+				return long.class;
+			case "short":
+				return short.class;
+			default:
+				return Class.forName(name, false, loader);
+		}
+	}
 }
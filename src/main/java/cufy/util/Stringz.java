@@ -15,6 +15,7 @@
  */
 package cufy.util;
 
+import java.util.BitSet;
 import java.util.Objects;
 
 /**
@@ -57,6 +58,25 @@ public final class Stringz {
 		return null;
 	}
 
+	/**
+	 * Return the first missing query in the given string. Using the given compiled queries. (the string is scanned once for all the queries)
+	 *
+	 * @param string  to check.
+	 * @param queries the compiled queries to check for.
+	 * @return the first missing query on the given string. Or null if no query missing.
+	 * @throws NullPointerException if the given {@code string} or {@code queries} is null.
+	 */
+	public static String all(String string, Automaton queries) {
+		Objects.requireNonNull(string, "string");
+		Objects.requireNonNull(queries, "queries");
+
+		BitSet found = Stringz.found(string, queries, false);
+		int missing = found.nextClearBit(0);
+
+		//noinspection ReturnOfNull
+		return missing < queries.patternCount() ? queries.pattern(missing) : null;
+	}
+
 	/**
 	 * Return the first query found on the given string. Or null if no query found.
 	 *
@@ -80,6 +100,26 @@ public final class Stringz {
 		return null;
 	}
 
+	/**
+	 * Return the first query found on the given string. Or null if no query found. Using the given compiled queries. (the string is scanned once for
+	 * all the queries)
+	 *
+	 * @param string  to check.
+	 * @param queries the compiled queries to check for.
+	 * @return the first found query on the given string. or null if no query found.
+	 * @throws NullPointerException if the given {@code string} or {@code queries} is null.
+	 */
+	public static String any(String string, Automaton queries) {
+		Objects.requireNonNull(string, "string");
+		Objects.requireNonNull(queries, "queries");
+
+		BitSet found = Stringz.found(string, queries, true);
+		int first = found.nextSetBit(0);
+
+		//noinspection ReturnOfNull
+		return first == -1 ? null : queries.pattern(first);
+	}
+
 	/**
 	 * Determine if the given string ends with any of the given sequences.
 	 *
@@ -101,6 +141,30 @@ public final class Stringz {
 		return null;
 	}
 
+	/**
+	 * Determine if the given string ends with any of the given compiled sequences. (only the last characters of the string are scanned)
+	 *
+	 * @param string    to check.
+	 * @param sequences the compiled sequences to be checked for.
+	 * @return the first sequence that the string ended with, or null if the string does not end with any of the given sequences.
+	 * @throws NullPointerException if the given {@code string} or {@code sequences} is null.
+	 */
+	public static String endsWith(String string, Automaton sequences) {
+		Objects.requireNonNull(string, "string");
+		Objects.requireNonNull(sequences, "sequences");
+
+		int length = string.length();
+		int state = Automaton.ROOT;
+
+		for (int i = Math.max(0, length - sequences.longest()); i < length; i++)
+			state = sequences.next(state, string.charAt(i));
+
+		int first = sequences.first(state);
+
+		//noinspection ReturnOfNull
+		return first == -1 ? null : sequences.pattern(first);
+	}
+
 	/**
 	 * Get given string repeated many times as given.
 	 * <br><br><b>example</b>
@@ -194,4 +258,62 @@ public final class Stringz {
 		//noinspection ReturnOfNull
 		return null;
 	}
+
+	/**
+	 * Determine if the given string starts with any of the given compiled sequences. (only the first characters of the string are scanned)
+	 *
+	 * @param string    to check.
+	 * @param sequences the compiled sequences to be checked for.
+	 * @return the first sequence that the string started with, or null if the string does not start with any of the given sequences.
+	 * @throws NullPointerException if the given {@code string} or {@code sequences} is null.
+	 */
+	public static String startsWith(String string, Automaton sequences) {
+		Objects.requireNonNull(string, "string");
+		Objects.requireNonNull(sequences, "sequences");
+
+		int length = string.length();
+		int state = Automaton.ROOT;
+		int first = sequences.exact(state);
+
+		for (int i = 0; i < length; i++) {
+			state = sequences.child(state, string.charAt(i));
+
+			if (state == -1)
+				break;
+
+			int exact = sequences.exact(state);
+
+			if (exact != -1 && (first == -1 || exact < first))
+				first = exact;
+		}
+
+		//noinspection ReturnOfNull
+		return first == -1 ? null : sequences.pattern(first);
+	}
+
+	/**
+	 * Scan the given string for the given compiled queries.
+	 *
+	 * @param string  to scan.
+	 * @param queries the compiled queries to scan for.
+	 * @param any     when true, the scanning stops once the first query (in order) is found.
+	 * @return the indexes of the queries found on the given string.
+	 */
+	private static BitSet found(String string, Automaton queries, boolean any) {
+		BitSet found = new BitSet(queries.patternCount());
+		int length = string.length();
+		int state = Automaton.ROOT;
+
+		//empty queries
+		queries.collect(state, found);
+
+		for (int i = 0; i < length && !(any && found.get(0)); i++) {
+			state = queries.next(state, string.charAt(i));
+
+			if (queries.matches(state))
+				queries.collect(state, found);
+		}
+
+		return found;
+	}
 }
@@ -0,0 +1,172 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.util;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe recorder of the cost of dynamic methods. Records the number of calls, the cumulative time and the units (elements or characters)
+ * processed. Per method and per target class.
+ * <p>
+ * Note: the time recorded for a method includes the time of the nested calls it made.
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+public class Tracer {
+	/**
+	 * The counters of each method and target class.
+	 */
+	protected final Map<Method, Map<Class, Counter>> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the number of units (elements or characters) the given value has.
+	 *
+	 * @param value the value to count its units
+	 * @return the length of the given value if it is an array or a {@link CharSequence}. The size of it if it is a {@link Collection} or a {@link
+	 * 		Map}. Otherwise, 0
+	 */
+	public static long units(Object value) {
+		if (value instanceof CharSequence)
+			return ((CharSequence) value).length();
+		if (value instanceof Collection)
+			return ((Collection) value).size();
+		if (value instanceof Map)
+			return ((Map) value).size();
+		if (value != null && value.getClass().isArray())
+			return Array.getLength(value);
+
+		return 0;
+	}
+
+	/**
+	 * Record a call of the given method.
+	 *
+	 * @param method the method called
+	 * @param klass  the target class of the call
+	 * @param nanos  the time the call took
+	 * @param units  the units processed by the call
+	 * @throws NullPointerException if the given 'method' or 'klass' is null
+	 */
+	public void record(Method method, Class klass, long nanos, long units) {
+		Objects.requireNonNull(method, "method");
+		Objects.requireNonNull(klass, "klass");
+
+		Counter counter = this.counters.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+				.computeIfAbsent(klass, k -> new Counter());
+
+		counter.calls.increment();
+		counter.nanos.add(nanos);
+		counter.units.add(units);
+	}
+
+	/**
+	 * Forget all the records of this.
+	 */
+	public void reset() {
+		this.counters.clear();
+	}
+
+	/**
+	 * Get a snapshot of the records of this. Ordered by the cumulative time (the most expensive first).
+	 *
+	 * @return an unmodifiable list of the records of this
+	 */
+	public List<Record> snapshot() {
+		List<Record> records = new ArrayList<>();
+
+		for (Map.Entry<Method, Map<Class, Counter>> method : this.counters.entrySet())
+			for (Map.Entry<Class, Counter> klass : method.getValue().entrySet()) {
+				Counter counter = klass.getValue();
+				records.add(new Record(method.getKey(), klass.getKey(), counter.calls.sum(), counter.nanos.sum(), counter.units.sum()));
+			}
+
+		records.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+		return Collections.unmodifiableList(records);
+	}
+
+	/**
+	 * The counters of a method and a target class.
+	 */
+	protected static final class Counter {
+		/**
+		 * The number of calls.
+		 */
+		final LongAdder calls = new LongAdder();
+		/**
+		 * The cumulative time of the calls.
+		 */
+		final LongAdder nanos = new LongAdder();
+		/**
+		 * The cumulative units processed by the calls.
+		 */
+		final LongAdder units = new LongAdder();
+	}
+
+	/**
+	 * An immutable record of the calls of a method with a target class.
+	 */
+	public static final class Record {
+		/**
+		 * The number of calls.
+		 */
+		public final long calls;
+		/**
+		 * The target class of the calls.
+		 */
+		public final Class klass;
+		/**
+		 * The method called.
+		 */
+		public final Method method;
+		/**
+		 * The cumulative time of the calls. (in nanoseconds)
+		 */
+		public final long nanos;
+		/**
+		 * The cumulative units (elements or characters) processed by the calls.
+		 */
+		public final long units;
+
+		/**
+		 * Construct a new record.
+		 *
+		 * @param method the method called
+		 * @param klass  the target class of the calls
+		 * @param calls  the number of calls
+		 * @param nanos  the cumulative time of the calls
+		 * @param units  the cumulative units processed by the calls
+		 */
+		public Record(Method method, Class klass, long calls, long nanos, long units) {
+			this.method = method;
+			this.klass = klass;
+			this.calls = calls;
+			this.nanos = nanos;
+			this.units = units;
+		}
+
+		@Override
+		public String toString() {
+			return this.method.getName() + "(" + this.klass.getSimpleName() + "): " + this.calls + " calls, " + this.nanos + "ns, " + this.units +
+				   " units";
+		}
+	}
+}
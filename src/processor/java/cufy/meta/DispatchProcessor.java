@@ -0,0 +1,258 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.meta;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * An annotation processor that generates the dispatch table of each class that has dynamic methods ({@code ClassifyMethod}, {@code ConvertMethod},
+ * {@code FormatMethod} or {@code ParseMethod}). So, the dynamic methods of a class are looked up directly at runtime. Instead of scanning (and
+ * comparing) all the methods of the class and its superclasses.
+ * <p>
+ * The table of a class is written as the resource {@link #PATH}{@code <binary name of the class>}. One line per dynamic method (declared or
+ * inherited, and not overridden): the binary name of the declaring class, the name of the method, then the names of its parameter types (as accepted
+ * by {@link Class#forName(String)}, or the name of a primitive type). Separated by spaces.
+ * <p>
+ * The table starts with a header. So, a stale table (a class recompiled without this processor) is detected at runtime. The line {@code @} followed
+ * by the names of the dynamic method annotations. Then, for each class of the hierarchy of the class, the line {@code #} followed by the binary name
+ * of the class, the count of the dynamic methods declared in it, and their fingerprint (see {@link #fingerprint(List)}).
+ *
+ * @author lsafer
+ * @version 0.1.5
+ * @since 19-Oct-2020
+ */
+@SupportedAnnotationTypes({
+		"cufy.convert.ConvertMethod",
+		"cufy.text.ClassifyMethod",
+		"cufy.text.FormatMethod",
+		"cufy.text.ParseMethod"
+})
+public class DispatchProcessor extends AbstractProcessor {
+	/**
+	 * The path of the dispatch tables.
+	 */
+	public static final String PATH = "META-INF/cufy/dispatch/";
+
+	/**
+	 * The names of the dynamic method annotations.
+	 */
+	private static final Set<String> ANNOTATIONS = new HashSet<>(Arrays.asList(
+			"cufy.convert.ConvertMethod",
+			"cufy.text.ClassifyMethod",
+			"cufy.text.FormatMethod",
+			"cufy.text.ParseMethod"
+	));
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		for (TypeElement type : ElementFilter.typesIn(round.getRootElements()))
+			this.process(type);
+
+		//the annotations are still visible for other processors
+		return false;
+	}
+
+	/**
+	 * Get the fingerprint of the given signatures. The hash code of the given signatures sorted and joined with new lines. (the same fingerprint is
+	 * computed at runtime by {@code cufy.util.Reflection})
+	 *
+	 * @param signatures the signatures of the dynamic methods declared in a class (the name of each method followed by the names of its parameter
+	 *                   types. Separated by spaces)
+	 * @return the fingerprint of the given signatures
+	 */
+	private static int fingerprint(List<String> signatures) {
+		List<String> sorted = new ArrayList<>(signatures);
+		Collections.sort(sorted);
+		return String.join("\n", sorted).hashCode();
+	}
+
+	/**
+	 * Get the name of the given type. As accepted by {@link Class#forName(String)}. Or the name of the given type if it is primitive.
+	 *
+	 * @param type the type to get its name
+	 * @return the name of the given type
+	 */
+	private String name(TypeMirror type) {
+		TypeMirror erasure = this.processingEnv.getTypeUtils().erasure(type);
+
+		if (erasure.getKind() == TypeKind.ARRAY)
+			return this.descriptor(erasure);
+		if (erasure.getKind() == TypeKind.DECLARED)
+			return this.processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erasure).asElement()).toString();
+
+		return erasure.toString();
+	}
+
+	/**
+	 * Get the descriptor of the given (erased) type. The way the names of array classes are written.
+	 *
+	 * @param type the type to get its descriptor
+	 * @return the descriptor of the given type
+	 */
+	private String descriptor(TypeMirror type) {
+		switch (type.getKind()) {
+			case ARRAY:
+				return "[" + this.descriptor(((ArrayType) type).getComponentType());
+			case BOOLEAN:
+				return "Z";
+			case BYTE:
+				return "B";
+			case CHAR:
+				return "C";
+			case DOUBLE:
+				return "D";
+			case FLOAT:
+				return "F";
+			case INT:
+				return "I";
+			case LONG:
+				return "J";
+			case SHORT:
+				return "S";
+			default:
+				return "L" + this.name(type) + ";";
+		}
+	}
+
+	/**
+	 * Determine if the given method is a dynamic method.
+	 *
+	 * @param method the method to be checked
+	 * @return true, if the given method is annotated with any of the dynamic method annotations
+	 */
+	private boolean isDynamic(ExecutableElement method) {
+		for (AnnotationMirror annotation : method.getAnnotationMirrors())
+			if (ANNOTATIONS.contains(((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString()))
+				return true;
+
+		return false;
+	}
+
+	/**
+	 * Get the signature of the given method. The name of the method, then the names of its parameter types. Separated by spaces.
+	 *
+	 * @param method the method to get its signature
+	 * @return the signature of the given method
+	 */
+	private String signature(ExecutableElement method) {
+		StringBuilder signature = new StringBuilder(method.getSimpleName());
+
+		for (VariableElement parameter : method.getParameters())
+			signature.append(' ').append(this.name(parameter.asType()));
+
+		return signature.toString();
+	}
+
+	/**
+	 * Generate the dispatch table of the given type (and the types nested in it).
+	 *
+	 * @param type the type to generate its table
+	 */
+	private void process(TypeElement type) {
+		for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements()))
+			this.process(nested);
+
+		if (type.getKind() != ElementKind.CLASS)
+			return;
+
+		Elements elements = this.processingEnv.getElementUtils();
+		Types types = this.processingEnv.getTypeUtils();
+
+		//the same walk as Reflection.getAllMethods (overriding methods cancel the overridden methods)
+		List<ExecutableElement> methods = new ArrayList<>();
+		StringBuilder header = new StringBuilder("@");
+		for (String annotation : new TreeSet<>(ANNOTATIONS))
+			header.append(' ').append(annotation);
+		header.append('\n');
+
+		for (TypeElement klass = type; klass != null; ) {
+			List<ExecutableElement> superMethods = new ArrayList<>();
+			List<String> signatures = new ArrayList<>();
+
+			for0:
+			for (ExecutableElement method : ElementFilter.methodsIn(klass.getEnclosedElements())) {
+				if (this.isDynamic(method))
+					signatures.add(this.signature(method));
+
+				for (ExecutableElement override : methods)
+					if (elements.overrides(override, method, type))
+						continue for0;
+
+				superMethods.add(method);
+			}
+
+			methods.addAll(superMethods);
+			header.append("# ")
+					.append(elements.getBinaryName(klass))
+					.append(' ')
+					.append(signatures.size())
+					.append(' ')
+					.append(fingerprint(signatures))
+					.append('\n');
+
+			TypeMirror superclass = klass.getSuperclass();
+			klass = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+		}
+
+		StringBuilder table = new StringBuilder();
+		for (ExecutableElement method : methods)
+			if (this.isDynamic(method))
+				table.append(elements.getBinaryName((TypeElement) method.getEnclosingElement()))
+						.append(' ')
+						.append(this.signature(method))
+						.append('\n');
+
+		if (table.length() == 0)
+			return;
+
+		table.insert(0, header);
+
+		try {
+			FileObject file = this.processingEnv.getFiler()
+					.createResource(StandardLocation.CLASS_OUTPUT, "", PATH + elements.getBinaryName(type), type);
+
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+				writer.write(table.toString());
+			}
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't write the dispatch table: " + e, type);
+		}
+	}
+}
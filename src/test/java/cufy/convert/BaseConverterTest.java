@@ -2,13 +2,33 @@ package cufy.convert;
 
 import cufy.lang.Clazz;
 import cufy.lang.ClazzTree;
+import cufy.meta.Filter;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 @SuppressWarnings("JavaDoc")
 public class BaseConverterTest {
+	@Test
+	public void acyclic() {
+		List shared = new ArrayList(Arrays.asList(1, 2));
+		List input = Arrays.asList(shared, shared);
+
+		ConvertToken token = new ConvertToken(input, null, Clazz.ofi(input), Clazz.of(ArrayList.class));
+		token.tree.put("acyclic", true);
+		List output = (List) BaseConverter.global.convert(token);
+
+		Assert.assertEquals("Wrong output", input, output);
+		Assert.assertNotSame("Shared references are converted at every occurrence", output.get(0), output.get(1));
+		Assert.assertFalse("Bookkeeping not skipped", token.tree.containsKey("refs"));
+	}
+
 	@Test
 	public void applyTest() {
 		Object[] arr = {0, 1};
@@ -169,6 +189,157 @@ public class BaseConverterTest {
 		Assert.assertEquals("Wrong value", objs[1], 1L);
 	}
 
+	@Test
+	public void convertCache() {
+		BaseConverter converter = new BaseConverter();
+		ConvertCache cache = new ConvertCache(2);
+		converter.setCache(cache);
+
+		Assert.assertEquals("Wrong value", 5L, (long) converter.convert("5", null, Clazz.of(Long.class)));
+		Assert.assertEquals("Wrong value", 5L, (long) converter.convert("5", null, Clazz.of(Long.class)));
+		Assert.assertEquals("Wrong hits", 1, cache.getHits());
+		Assert.assertEquals("Wrong misses", 1, cache.getMisses());
+
+		converter.convert(new ArrayList<>(), null, Clazz.of(List.class));
+		Assert.assertEquals("Mutable input cached", 1, cache.size());
+
+		converter.convert("6", null, Clazz.of(Long.class));
+		converter.convert("7", null, Clazz.of(Long.class));
+		Assert.assertEquals("Not bounded", 2, cache.size());
+		Assert.assertNull("Unused not evicted", cache.get("6", Clazz.ofi("6"), Clazz.of(Long.class)));
+		Assert.assertTrue("Used evicted", cache.get("5", Clazz.ofi("5"), Clazz.of(Long.class)).isPresent());
+		Assert.assertTrue("Recent evicted", cache.get("7", Clazz.ofi("7"), Clazz.of(Long.class)).isPresent());
+	}
+
+	@Test
+	public void convertMethodCache() {
+		BaseConverter converter = new BaseConverter();
+
+		Method method = converter.getConvertMethod(Integer.class, Long.class);
+
+		Assert.assertNotNull("No method found", method);
+		Assert.assertSame("Method not cached", method, converter.getConvertMethod(Integer.class, Long.class));
+		Assert.assertNull("Unexpected method", converter.getConvertMethod(Thread.class, Long.class));
+		Assert.assertFalse("Miss not cached", converter.convertMethodCache.get(Thread.class).get(Long.class).isPresent());
+	}
+
+	@Test
+	public void convertPlan() {
+		BaseConverter converter = new BaseConverter();
+		ConvertPlan plan = converter.getConvertPlan(Clazz.of(List.class), Clazz.of(Object[].class, ClazzTree.of(Long.class)));
+
+		Assert.assertSame("Plan not cached", plan, converter.getConvertPlan(plan.inputClazz, plan.outputClazz));
+
+		for (int i = 0; i < 3; i++) {
+			Object[] output = plan.convert(Arrays.asList(i, i + 1), null);
+
+			Assert.assertEquals("Wrong length", 2, output.length);
+			Assert.assertEquals("Wrong value", (long) i, output[0]);
+			Assert.assertEquals("Wrong value", (long) i + 1, output[1]);
+		}
+
+		Assert.assertSame("Element plan not shared", plan.element(3, null, 0, null), plan.element(4, null, 0, null));
+
+		BaseConverter.Options options = new BaseConverter.Options().setDefaults();
+		options.ACYCLIC = true;
+		ConvertPlan acyclic = new BaseConverter(options).getConvertPlan(plan.inputClazz, plan.outputClazz);
+		Object[] output = acyclic.convert(Arrays.asList(5, 6), null);
+
+		Assert.assertEquals("Wrong value walking the plan directly", 5L, output[0]);
+		Assert.assertEquals("Wrong value walking the plan directly", 6L, output[1]);
+	}
+
+	@Test
+	public void exceptions() {
+		Failing converter = new Failing();
+
+		//converting exceptions pass as they are
+		ConvertException expected = new ConvertException("convert");
+		converter.expected = expected;
+		try {
+			converter.convert(new Thread(), null, Clazz.of(Long.class));
+			Assert.fail("expected a ConvertException");
+		} catch (ConvertException e) {
+			Assert.assertSame("Exception wrapped", expected, e);
+		}
+
+		//any other exception is wrapped
+		converter.expected = null;
+		try {
+			converter.convert(new Thread(), null, Clazz.of(Long.class));
+			Assert.fail("expected a ConvertException");
+		} catch (ConvertException e) {
+			Assert.assertTrue("Exception not wrapped", e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void graph() {
+		List shared = new ArrayList(Arrays.asList(1, 2));
+		List cyclic = new ArrayList();
+		cyclic.add(shared);
+		cyclic.add(shared);
+		cyclic.add(cyclic);
+
+		List output = BaseConverter.global.convert(cyclic, null, Clazz.of(ArrayList.class));
+
+		Assert.assertNotSame("Not cloned", cyclic, output);
+		Assert.assertNotSame("Not cloned", shared, output.get(0));
+		Assert.assertEquals("Wrong element", shared, output.get(0));
+		Assert.assertSame("Deja-vu not detected", output.get(0), output.get(1));
+		Assert.assertSame("Recursion not detected", output, output.get(2));
+	}
+
+	@Test
+	public void hooks() {
+		Hooked converter = new Hooked();
+
+		Assert.assertEquals("Overridden getConvertMethod ignored", 7L, (long) converter.convert(new Thread(), null, Clazz.of(Long.class)));
+		Assert.assertEquals("Overridden convert0 ignored", 1, converter.invoked);
+		Assert.assertTrue("Hooks not detected", converter.isHooked());
+		Assert.assertFalse("Hooks detected", BaseConverter.global.isHooked());
+	}
+
+	@Test
+	public void lazy() {
+		List<Long> list = BaseConverter.global.lazyList(Arrays.asList("1000", "x"), Clazz.of(Long.class), true);
+
+		Assert.assertEquals("Wrong size", 2, list.size());
+		Assert.assertEquals("Wrong element", 1000L, (long) list.get(0));
+		Assert.assertSame("Not memoized", list.get(0), list.get(0));
+
+		try {
+			list.get(1);
+			Assert.fail("Invalid element converted");
+		} catch (ConvertException ignored) {
+		}
+
+		List<Long> unmemoized = BaseConverter.global.lazyList(Arrays.asList(1000, 2000), Clazz.of(Long.class), false);
+		Assert.assertEquals("Wrong elements", Arrays.asList(1000L, 2000L), new ArrayList<>(unmemoized));
+		Assert.assertNotSame("Memoized", unmemoized.get(0), unmemoized.get(0));
+
+		Map<String, Object> input = new HashMap<>();
+		input.put("a", "1");
+		input.put("b", null);
+		Map<String, Integer> map = BaseConverter.global.lazyMap(input, Clazz.of(Integer.class), true);
+		Assert.assertEquals("Wrong value", 1, (int) map.get("a"));
+		Assert.assertNull("Wrong null", map.get("b"));
+		Assert.assertTrue("Missing key", map.containsKey("b"));
+		Assert.assertNull("Unexpected key", map.get("c"));
+		Assert.assertEquals("Wrong keys", input.keySet(), map.keySet());
+
+		Collection<String> collection = BaseConverter.global.lazyCollection(new HashSet<>(Arrays.asList(1, 2)), Clazz.of(String.class));
+		Assert.assertEquals("Wrong elements", new HashSet<>(Arrays.asList("1", "2")), new HashSet<>(collection));
+	}
+
+	@Test
+	public void numbers() {
+		Assert.assertEquals("Wrong byte", (byte) 300, (byte) BaseConverter.global.convert(300, null, Clazz.of(Byte.class)));
+		Assert.assertEquals("Wrong BigDecimal", new BigDecimal("1.5"), BaseConverter.global.convert(1.5, null, Clazz.of(BigDecimal.class)));
+		Assert.assertEquals("Wrong BigInteger", BigInteger.valueOf(7), BaseConverter.global.convert(7L, null, Clazz.of(BigInteger.class)));
+		Assert.assertEquals("Wrong long", 9L, (long) BaseConverter.global.convert(new BigDecimal("9.9"), null, Clazz.of(Long.class)));
+	}
+
 	@Test
 	public void objToSame() {
 		class Test {
@@ -185,6 +356,76 @@ public class BaseConverterTest {
 		}
 	}
 
+	@Test
+	public void parallel() {
+		BaseConverter.Options options = new BaseConverter.Options().setDefaults();
+		options.ACYCLIC = true;
+		options.PARALLEL_THRESHOLD = 16;
+		BaseConverter converter = new BaseConverter(options);
+
+		List<List<Integer>> input = new ArrayList<>();
+		Map<Integer, Integer> map = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			input.add(Arrays.asList(i, -i));
+			map.put(i, i);
+		}
+
+		List output = converter.convert(input, null, Clazz.of(ArrayList.class));
+		Object[] array = converter.convert(input, null, Clazz.of(Object[].class));
+		Map outputMap = converter.convert(map, null, Clazz.of(HashMap.class));
+
+		Assert.assertEquals("Wrong list", input, output);
+		Assert.assertEquals("Wrong array", input, Arrays.asList(array));
+		Assert.assertEquals("Wrong map", map, outputMap);
+		Assert.assertNotSame("Not converted", input.get(0), output.get(0));
+
+		ForkJoinPool pool = new ForkJoinPool(2);
+		options.POOL = pool;
+
+		try {
+			Assert.assertEquals("Wrong list on the given pool", input, new BaseConverter(options).convert(input, null, Clazz.of(ArrayList.class)));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void primitiveArrays() {
+		int[] ints = {1, -2, 3};
+
+		long[] longs = BaseConverter.global.convert(ints, null, Clazz.of(long[].class));
+		Assert.assertArrayEquals("Wrong widening", new long[]{1, -2, 3}, longs);
+
+		double[] doubles = BaseConverter.global.convert(new float[]{1.5f, -0.25f}, null, Clazz.of(double[].class));
+		Assert.assertArrayEquals("Wrong widening", new double[]{1.5, -0.25}, doubles, 0);
+
+		int[] narrowed = BaseConverter.global.convert(new double[]{1.9, -1.9}, null, Clazz.of(int[].class));
+		Assert.assertArrayEquals("Wrong narrowing", new int[]{1, -1}, narrowed);
+
+		int[] unboxed = BaseConverter.global.convert(Arrays.asList(4, 5L, 6.0), null, Clazz.of(int[].class));
+		Assert.assertArrayEquals("Wrong unboxing", new int[]{4, 5, 6}, unboxed);
+
+		int[] copy = BaseConverter.global.convert(ints, null, Clazz.of(int[].class));
+		Assert.assertNotSame("Not copied", ints, copy);
+		Assert.assertArrayEquals("Wrong copy", ints, copy);
+	}
+
+	@Test
+	public void strings() {
+		Assert.assertEquals("Wrong long", 42L, (long) BaseConverter.global.convert("42", null, Clazz.of(Long.class)));
+		Assert.assertEquals("Wrong integer", -3, (int) BaseConverter.global.convert("-3", null, Clazz.of(Integer.class)));
+		Assert.assertEquals("Wrong BigDecimal", new BigDecimal("0.10"), BaseConverter.global.convert("0.10", null, Clazz.of(BigDecimal.class)));
+		Assert.assertEquals("Wrong handle conversion", Thread.State.NEW, BaseConverter.global.convert("NEW", null, Clazz.of(Thread.State.class)));
+		Assert.assertNull("Wrong null", BaseConverter.global.convert("null", null, Clazz.of(Long.class)));
+
+		try {
+			BaseConverter.global.convert("x", null, Clazz.of(Long.class));
+			Assert.fail("An invalid number should not be converted");
+		} catch (ConvertException e) {
+			Assert.assertTrue("The parser exception should be wrapped", e.getCause() instanceof InvocationTargetException);
+		}
+	}
+
 	@Test
 	public void transTest() {
 		int[][] arr = {{0, 1}, {2, 3}};
@@ -197,4 +438,42 @@ public class BaseConverterTest {
 		Assert.assertSame("wrong value", (int) lng[1][0], arr[1][0]);
 		Assert.assertSame("wrong value", (int) lng[1][1], arr[1][1]);
 	}
+
+	public static class Failing extends BaseConverter {
+		ConvertException expected;
+
+		@ConvertMethod(input = @Filter(Thread.class), output = @Filter(Long.class))
+		protected void threadToLong(ConvertToken<Thread, Long> token) {
+			if (this.expected != null)
+				throw this.expected;
+
+			throw new IllegalStateException("state");
+		}
+	}
+
+	public static class Hooked extends Failing {
+		int invoked;
+
+		@Override
+		protected void convert0(Method method, ConvertToken token) {
+			this.invoked++;
+			super.convert0(method, token);
+		}
+
+		@Override
+		protected Method getConvertMethod(Class inputClass, Class outputClass) {
+			if (inputClass == Thread.class)
+				try {
+					return Hooked.class.getDeclaredMethod("threadToSeven", ConvertToken.class);
+				} catch (NoSuchMethodException e) {
+					throw new AssertionError(e);
+				}
+
+			return super.getConvertMethod(inputClass, outputClass);
+		}
+
+		protected void threadToSeven(ConvertToken<Thread, Long> token) {
+			token.output = 7L;
+		}
+	}
 }
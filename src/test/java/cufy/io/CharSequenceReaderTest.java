@@ -0,0 +1,41 @@
+package cufy.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+
+@SuppressWarnings("JavaDoc")
+public class CharSequenceReaderTest {
+	@Test
+	public void range() throws IOException {
+		StringBuilder builder = new StringBuilder("  ABCDEF  ");
+		Reader reader = new CharSequenceReader(builder, 2, 8);
+
+		Assert.assertEquals("Wrong first character", 'A', reader.read());
+
+		reader.mark(0);
+		char[] buffer = new char[10];
+		int length = reader.read(buffer, 0, buffer.length);
+		Assert.assertEquals("Should stop at the end of the range", "BCDEF", new String(buffer, 0, length));
+		Assert.assertEquals("Should be at the end", -1, reader.read());
+
+		reader.reset();
+		Assert.assertEquals("Should return to the mark", 'B', reader.read());
+		Assert.assertEquals("Wrong skip", 4, reader.skip(100));
+		Assert.assertEquals("Should be at the end", -1, reader.read());
+	}
+
+	@Test
+	public void chars() throws IOException {
+		char[] chars = "xx[1, 2]yy".toCharArray();
+		Reader reader = new CharSequenceReader(chars, 2, 6);
+
+		StringBuilder read = new StringBuilder();
+		for (int i; (i = reader.read()) != -1; )
+			read.append((char) i);
+
+		Assert.assertEquals("Wrong range read", "[1, 2]", read.toString());
+	}
+}
@@ -0,0 +1,107 @@
+package cufy.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+
+@SuppressWarnings("JavaDoc")
+public class ReadAheadReaderTest {
+	@Test
+	public void close() throws IOException, InterruptedException {
+		Object lock = new Object();
+		//blocks until it is closed
+		Reader blocking = new Reader() {
+			private boolean closed;
+
+			@Override
+			public void close() {
+				synchronized (lock) {
+					this.closed = true;
+					lock.notifyAll();
+				}
+			}
+
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				synchronized (lock) {
+					while (!this.closed)
+						try {
+							lock.wait();
+						} catch (InterruptedException ignored) {
+							//only closing unblocks this reader
+						}
+				}
+
+				throw new IOException("Stream closed");
+			}
+		};
+
+		Reader reader = new ReadAheadReader(blocking, ForkJoinPool.commonPool(), 8, 2);
+		Thread closing = new Thread(() -> {
+			try {
+				reader.close();
+			} catch (IOException ignored) {
+			}
+		});
+
+		closing.start();
+		closing.join(5000);
+		Assert.assertFalse("close() should not wait for a blocked read", closing.isAlive());
+	}
+
+	@Test
+	public void error() throws IOException {
+		Reader failing = new Reader() {
+			private int count;
+
+			@Override
+			public void close() {
+			}
+
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				if (this.count++ < 3) {
+					cbuf[off] = 'x';
+					return 1;
+				}
+
+				throw new IOException("failed");
+			}
+		};
+
+		StringBuilder read = new StringBuilder();
+
+		try (Reader reader = new ReadAheadReader(failing, ForkJoinPool.commonPool(), 8, 2)) {
+			for (int i; (i = reader.read()) != -1; )
+				read.append((char) i);
+
+			Assert.fail("The error should be thrown on the reading thread");
+		} catch (IOException ignored) {
+		}
+
+		Assert.assertEquals("The characters before the error should be read", "xxx", read.toString());
+	}
+
+	@Test
+	public void read() throws IOException {
+		StringBuilder source = new StringBuilder();
+		for (int i = 0; i < 10000; i++)
+			source.append(i).append(',');
+
+		StringBuilder read = new StringBuilder();
+
+		try (Reader reader = new ReadAheadReader(new StringReader(source.toString()), ForkJoinPool.commonPool(), 100, 3)) {
+			char[] buffer = new char[37];
+			for (int length; (length = reader.read(buffer, 0, buffer.length)) != -1; )
+				read.append(buffer, 0, length);
+
+			Assert.assertEquals("Should be at the end", -1, reader.read());
+		}
+
+		Assert.assertEquals("Wrong characters read", source.toString(), read.toString());
+	}
+}
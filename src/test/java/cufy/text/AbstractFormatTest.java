@@ -0,0 +1,188 @@
+package cufy.text;
+
+import cufy.lang.Clazz;
+import cufy.meta.Filter;
+import cufy.text.json.JSON;
+import cufy.util.Reflection;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@SuppressWarnings("JavaDoc")
+public class AbstractFormatTest {
+	@Test
+	public void dispatchTable() {
+		List<Method> table = Reflection.getDispatchTable(JSON.class);
+		Set<Method> scanned = new HashSet<>();
+
+		for (Method method : Reflection.getAllMethods(JSON.class))
+			if (method.isAnnotationPresent(ClassifyMethod.class) ||
+				method.isAnnotationPresent(FormatMethod.class) ||
+				method.isAnnotationPresent(ParseMethod.class))
+				scanned.add(method);
+
+		Assert.assertNotNull("No dispatch table generated", table);
+		Assert.assertEquals("Wrong dispatch table", scanned, new HashSet<>(table));
+		Assert.assertNull("Unexpected dispatch table", Reflection.getDispatchTable(Thread.class));
+	}
+
+	@Test
+	public void dispatchTableStale() {
+		//a local class (never processed). Its table (in the test resources) was generated before 'formatInteger' was added
+		class Stale extends AbstractFormat {
+			Stale() {
+				//verify the dispatch table
+				super(true);
+			}
+
+			@FormatMethod(@Filter(Integer.class))
+			protected void formatInteger(FormatToken<Integer> token) {
+			}
+		}
+
+		Assert.assertNotNull("Unverified dispatch table not used", Reflection.getDispatchTable(Stale.class));
+		Assert.assertNull("Stale dispatch table used", Reflection.getDispatchTable(Stale.class, true));
+		Assert.assertNotNull("Added method hidden", new Stale().getFormatMethod(Integer.class));
+	}
+
+	@Test
+	public void exceptions() {
+		Failing format = new Failing();
+
+		//checked I/O exceptions pass as they are
+		try {
+			format.format(new FormatToken<>(1, new StringWriter(), Clazz.of(Integer.class)));
+			Assert.fail("expected an IOException");
+		} catch (IOException e) {
+			Assert.assertEquals("Wrong exception", "io", e.getMessage());
+		}
+
+		//format exceptions pass as they are
+		FormatException expected = new FormatException("format");
+		format.expected = expected;
+		try {
+			format.format(new FormatToken<>((short) 1, new StringWriter(), Clazz.of(Short.class)));
+			Assert.fail("expected a FormatException");
+		} catch (IOException e) {
+			Assert.fail("Wrong exception");
+		} catch (FormatException e) {
+			Assert.assertSame("Exception wrapped", expected, e);
+		}
+
+		//any other exception is wrapped
+		try {
+			format.format(new FormatToken<>(1L, new StringWriter(), Clazz.of(Long.class)));
+			Assert.fail("expected a FormatException");
+		} catch (IOException e) {
+			Assert.fail("Wrong exception");
+		} catch (FormatException e) {
+			Assert.assertTrue("Exception not wrapped", e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	@Test
+	public void formatMethodCache() {
+		JSON json = JSON.global;
+
+		Method method = json.getFormatMethod(List.class);
+
+		Assert.assertNotNull("No method found", method);
+		Assert.assertEquals("Wrong method", json.findFormatMethod(List.class), method);
+		Assert.assertSame("Method not cached", method, json.getFormatMethod(List.class));
+		Assert.assertNull("Unexpected method", json.getFormatMethod(Thread.class));
+		Assert.assertFalse("Miss not cached", json.formatMethodCache.get(Thread.class).isPresent());
+	}
+
+	@Test
+	public void hooks() throws IOException {
+		Hooked format = new Hooked();
+		StringWriter writer = new StringWriter();
+
+		format.format(new FormatToken<>(1, writer, Clazz.of(Integer.class)));
+
+		Assert.assertEquals("Overridden getFormatMethod ignored", "hooked", writer.toString());
+		Assert.assertEquals("Overridden format0 ignored", 1, format.invoked);
+		Assert.assertTrue("Hooks not detected", format.isHooked());
+		Assert.assertFalse("Hooks detected", JSON.global.isHooked());
+	}
+
+	@Test
+	public void methods() throws NoSuchMethodException {
+		Failing format = new Failing();
+
+		Assert.assertEquals("Wrong methods count", 3, format.dynamicMethods.size());
+		Assert.assertTrue("Method missing", format.dynamicMethods.contains(Failing.class.getDeclaredMethod("formatInteger", FormatToken.class)));
+		Assert.assertFalse("Undynamic method included", format.dynamicMethods.contains(Failing.class.getDeclaredMethod("helper")));
+		Assert.assertTrue("Method missing", format.methods.contains(Failing.class.getDeclaredMethod("helper")));
+		Assert.assertTrue("Method missing", format.methods.contains(Failing.class.getDeclaredMethod("formatInteger", FormatToken.class)));
+		Assert.assertSame("Dynamic methods not shared", format.dynamicMethods, new Failing().dynamicMethods);
+	}
+
+	@Test
+	public void parseMethodCache() {
+		JSON json = JSON.global;
+
+		Method method = json.getParseMethod(Map.class);
+
+		Assert.assertNotNull("No method found", method);
+		Assert.assertEquals("Wrong method", json.findParseMethod(Map.class), method);
+		Assert.assertSame("Method not cached", method, json.getParseMethod(Map.class));
+		Assert.assertNull("Unexpected method", json.getParseMethod(Thread.class));
+		Assert.assertFalse("Miss not cached", json.parseMethodCache.get(Thread.class).isPresent());
+	}
+
+	public static class Failing extends AbstractFormat {
+		FormatException expected;
+
+		@FormatMethod(@Filter(Integer.class))
+		protected void formatInteger(FormatToken<Integer> token) throws IOException {
+			throw new IOException("io");
+		}
+
+		@FormatMethod(@Filter(Long.class))
+		protected void formatLong(FormatToken<Long> token) {
+			throw new IllegalStateException("state");
+		}
+
+		@FormatMethod(@Filter(Short.class))
+		protected void formatShort(FormatToken<Short> token) {
+			throw this.expected;
+		}
+
+		protected void helper() {
+		}
+	}
+
+	public static class Hooked extends Failing {
+		int invoked;
+
+		@Override
+		protected void format0(Method method, FormatToken token) throws IOException {
+			this.invoked++;
+			super.format0(method, token);
+		}
+
+		@Override
+		protected Method getFormatMethod(Class klass) {
+			if (klass == Integer.class)
+				try {
+					return Hooked.class.getDeclaredMethod("formatHooked", FormatToken.class);
+				} catch (NoSuchMethodException e) {
+					throw new AssertionError(e);
+				}
+
+			return super.getFormatMethod(klass);
+		}
+
+		protected void formatHooked(FormatToken<Integer> token) throws IOException {
+			token.output.write("hooked");
+		}
+	}
+}
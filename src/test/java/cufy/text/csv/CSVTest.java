@@ -0,0 +1,108 @@
+/*
+ *	Copyright 2020 Cufy
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ */
+package cufy.text.csv;
+
+import cufy.lang.Clazz;
+import cufy.text.ClassifyToken;
+import cufy.text.ParseException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+@SuppressWarnings("JavaDoc")
+public class CSVTest {
+	@Test
+	public void classify() throws IOException {
+		Assert.assertEquals("Wrong classification", Collection.class, CSV.global.classify(new ClassifyToken<>(new StringReader("a,b"), null)).getFamily());
+		Assert.assertEquals("Requested clazz ignored", Map.class, CSV.global.classify(new ClassifyToken<>(new StringReader("a,b"), Clazz.of(Map.class))).getFamily());
+	}
+
+	@Test
+	public void columns() {
+		CSV.Options options = new CSV.Options().setDefaults();
+		options.HEADER = true;
+		CSV csv = new CSV(new CSV.Syntax().setDefaults(), options);
+
+		Map columns = csv.parse("name,age\nA,1\nB,2\n", new HashMap());
+
+		Assert.assertArrayEquals("Wrong name column", new String[]{"A", "B"}, (Object[]) columns.get("name"));
+		Assert.assertArrayEquals("Wrong age column", new String[]{"1", "2"}, (Object[]) columns.get("age"));
+
+		Map typed = new HashMap();
+		typed.put("age", new int[0]);
+		csv.parse("name,age\nA,1\nB,\n", typed);
+
+		Assert.assertArrayEquals("Wrong primitive column", new int[]{1, 0}, (int[]) typed.get("age"));
+		Assert.assertArrayEquals("Wrong name column", new String[]{"A", "B"}, (Object[]) typed.get("name"));
+	}
+
+	@Test
+	public void format() {
+		List rows = Arrays.asList(
+				Arrays.asList("a", "b,c"),
+				new Object[]{"say \"hi\"", null},
+				Collections.singletonList("")
+		);
+
+		Assert.assertEquals("Wrong format", "a,\"b,c\"\r\n\"say \"\"hi\"\"\",\r\n\"\"\r\n", CSV.global.format(rows));
+	}
+
+	@Test
+	public void header() {
+		CSV.Options options = new CSV.Options().setDefaults();
+		options.HEADER = true;
+		CSV csv = new CSV(new CSV.Syntax().setDefaults(), options);
+
+		List<Map> rows = csv.cparse("name,age\nA,1\nB,2");
+
+		Assert.assertEquals("Wrong size", 2, rows.size());
+		Assert.assertEquals("Wrong field", "A", rows.get(0).get("name"));
+		Assert.assertEquals("Wrong field", "2", rows.get(1).get("age"));
+		Assert.assertEquals("Wrong format", "name,age\r\nA,1\r\nB,2\r\n", csv.format(rows));
+	}
+
+	@Test
+	public void parallel() {
+		CSV.Options options = new CSV.Options().setDefaults();
+		options.PARALLEL_THRESHOLD = 1;
+		CSV csv = new CSV(new CSV.Syntax().setDefaults(), options);
+
+		List<List<String>> rows = new ArrayList<>();
+		for (int i = 0; i < 10000; i++)
+			rows.add(Arrays.asList(String.valueOf(i), "multi\nline " + i, "\"" + i + "\""));
+
+		Assert.assertEquals("Parallel parsing changed the rows", rows, csv.cparse(csv.format(rows)));
+	}
+
+	@Test
+	public void parse() {
+		List<List<String>> rows = CSV.global.cparse("a,\"b,c\"\r\n\n\"x\"\"y\"\"\nz\",\nlast");
+
+		Assert.assertEquals("Wrong size", 3, rows.size());
+		Assert.assertEquals("Wrong 1st row", Arrays.asList("a", "b,c"), rows.get(0));
+		Assert.assertEquals("Wrong 2nd row", Arrays.asList("x\"y\"\nz", ""), rows.get(1));
+		Assert.assertEquals("Wrong 3rd row", Collections.singletonList("last"), rows.get(2));
+
+		try {
+			CSV.global.cparse("\"not closed");
+			Assert.fail("expected \"quoted field not closed\" exception!");
+		} catch (ParseException ignored) {
+		}
+	}
+}
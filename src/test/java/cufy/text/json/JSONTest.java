@@ -1,14 +1,22 @@
 package cufy.text.json;
 
 import cufy.beans.Bean;
+import cufy.lang.Clazz;
+import cufy.text.FormatException;
 import cufy.text.ParseException;
+import cufy.text.ParseToken;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 @SuppressWarnings({"JavaDoc", "SpellCheckingInspection"})
 public class JSONTest {
@@ -70,6 +78,34 @@ public class JSONTest {
 		Assert.assertEquals("Wrong element in the key 9", "abc", map.get(new BigDecimal(9)));
 	}
 
+	@Test
+	public void concurrent() throws Exception {
+		JSON.Syntax syntax = new JSON.Syntax().setDefaults();
+		JSON json = new JSON(syntax);
+
+		//the syntax is a snapshot
+		syntax.FENCE_ARRAY[0] = "(";
+		syntax.ESCAPABLES.clear();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> futures = new ArrayList<>();
+			for (int i = 0; i < 64; i++) {
+				int n = i;
+				futures.add(executor.submit(() -> json.cparse("[" + n + ", {\"a\":\"b\\\"c\"}]")));
+			}
+
+			for (int i = 0; i < futures.size(); i++) {
+				List list = (List) futures.get(i).get();
+
+				Assert.assertEquals("Wrong element", new BigDecimal(i), list.get(0));
+				Assert.assertEquals("Wrong member", "b\"c", ((Map) list.get(1)).get("a"));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	public void directParse() throws IOException {
 		String source = "{\"a\"=3, \"b\"=4}";
@@ -146,6 +182,29 @@ public class JSONTest {
 		Assert.assertEquals("Wrong format", expected, actual);
 	}
 
+	@Test
+	public void format_lazy_sources() {
+		String expected = "[\n" +
+						  "\t9,\n" +
+						  "\t3,\n" +
+						  "\t5\n" +
+						  "]";
+
+		Assert.assertEquals("Wrong iterator format", expected, JSON.global.format(Arrays.asList(9, 3, 5).iterator()));
+		Assert.assertEquals("Wrong stream format", expected, JSON.global.format(Stream.of(9, 3, 5)));
+		Assert.assertEquals("Wrong spliterator format", expected, JSON.global.format(Arrays.asList(9, 3, 5).spliterator()));
+		Assert.assertEquals("Wrong empty stream format", "[\n]", JSON.global.format(Stream.empty()));
+	}
+
+	@Test
+	public void format_path() {
+		try {
+			JSON.global.format(Paths.get("name"));
+			Assert.fail("expected \"can't format\" exception!");
+		} catch (FormatException ignored) {
+		}
+	}
+
 	@Test
 	public void parse() {
 		String text = "{/*beast is a beast\nwhy? just becouse!*/\"beast\"=[//How ? just watch\n\"beast\", \"is a\", \"beast\"]}";
@@ -215,6 +274,119 @@ public class JSONTest {
 		Assert.assertEquals("third number not detected", new BigDecimal(5), number.get(2));
 	}
 
+	@Test
+	public void parse_object_shape() {
+		JSON.Options options = new JSON.Options().setDefaults();
+		options.SHAPE_THRESHOLD = 8;
+		JSON json = new JSON(new JSON.Syntax().setDefaults(), options);
+
+		for (int i = 0; i < 20; i++) {
+			Map map = json.cparse("{\"currency\":\"USD\", \"unit\":\"cents\", \"amount\":" + i + "}");
+
+			Assert.assertEquals("Wrong size", 3, map.size());
+			Assert.assertEquals("Wrong value", "USD", map.get("currency"));
+			Assert.assertEquals("Wrong value", "cents", map.get("unit"));
+			Assert.assertEquals("Wrong value", new BigDecimal(i), map.get("amount"));
+		}
+
+		//different order
+		Map map = json.cparse("{\"currency\":\"USD\", \"amount\":3, \"unit\":\"cents\"}");
+		Assert.assertEquals("Wrong size", 3, map.size());
+		Assert.assertEquals("Wrong value", new BigDecimal(3), map.get("amount"));
+
+		//fewer keys
+		map = json.cparse("{\"currency\":\"USD\"}");
+		Assert.assertEquals("Wrong size", 1, map.size());
+
+		//duplicated key after the shape
+		try {
+			json.cparse("{\"currency\":\"USD\", \"unit\":\"cents\", \"currency\":\"EUR\"}");
+			Assert.fail("expected \"duplicated key\" exception!");
+		} catch (ParseException ignored) {
+		}
+
+		//nested objects of different layouts (each parse site has its own shape)
+		for (int i = 0; i < 20; i++) {
+			map = json.cparse("{\"price\":{\"currency\":\"USD\", \"amount\":" + i + "}, \"items\":[{\"id\":" + i + ", \"name\":\"x\"}]}");
+
+			Assert.assertEquals("Wrong value", new BigDecimal(i), ((Map) map.get("price")).get("amount"));
+			Assert.assertEquals("Wrong value", "x", ((Map) ((List) map.get("items")).get(0)).get("name"));
+		}
+
+		Assert.assertEquals("Wrong number of parse sites", 3, json.SHAPES.size());
+		Assert.assertTrue("Shapes installed while disabled", JSON.global.SHAPES.isEmpty());
+	}
+
+	@Test
+	public void parse_regions() throws IOException {
+		Map regions = new IdentityHashMap();
+		Map map = new HashMap();
+
+		ParseToken token = new ParseToken<>(new StringReader("{\"a\":[1, 2], \"b\":{\"c\":3}}"), map, Clazz.ofi(map));
+		token.tree.put("regions", regions);
+		JSON.global.parse(token);
+
+		List a = (List) map.get("a");
+		Map b = (Map) map.get("b");
+		Object c = b.get("c");
+
+		//modified since the last parsing
+		a.add(new BigDecimal(9));
+
+		token = new ParseToken<>(new StringReader("{\"a\":[1, 2], \"b\":{\"c\":3}}"), map, Clazz.ofi(map));
+		token.tree.put("regions", regions);
+		JSON.global.parse(token);
+
+		Assert.assertSame("Instance not kept", a, map.get("a"));
+		Assert.assertEquals("Modified value not reloaded", Arrays.asList(new BigDecimal(1), new BigDecimal(2)), a);
+		Assert.assertSame("Instance not kept", b, map.get("b"));
+		Assert.assertSame("Unchanged region re-parsed", c, b.get("c"));
+
+		token = new ParseToken<>(new StringReader("{\"a\":[1, 2], \"b\":{\"c\":4}}"), map, Clazz.ofi(map));
+		token.tree.put("regions", regions);
+		JSON.global.parse(token);
+
+		Assert.assertSame("Instance not overwritten", b, map.get("b"));
+		Assert.assertEquals("Changed region not re-parsed", new BigDecimal(4), b.get("c"));
+		token = new ParseToken<>(new StringReader("{}"), map, Clazz.ofi(map));
+		token.tree.put("regions", new HashMap());
+
+		try {
+			JSON.global.parse(token);
+			Assert.fail("A regions table that is not an IdentityHashMap should be rejected");
+		} catch (IllegalArgumentException ignored) {
+		}
+	}
+
+	@Test
+	public void parse_shared() {
+		JSON.Options options = new JSON.Options().setDefaults();
+		options.SHARING = true;
+		JSON json = new JSON(new JSON.Syntax().setDefaults(), options);
+
+		List list = json.cparse("[{\"currency\":\"USD\", \"unit\":\"cents\"}, {\"unit\":\"cents\", \"currency\":\"USD\"}, \"USD\"]");
+
+		Assert.assertEquals("Wrong size", 3, list.size());
+		Assert.assertSame("Equal objects not shared", list.get(0), list.get(1));
+		Assert.assertSame("Equal strings not shared", ((Map) list.get(0)).get("currency"), list.get(2));
+
+		try {
+			((Map) list.get(0)).put("unit", "dollars");
+			Assert.fail("expected shared objects to be unmodifiable");
+		} catch (UnsupportedOperationException ignored) {
+		}
+
+		List nested = json.cparse("[{\"a\": [1, {\"b\": null}]}, {\"a\": [1, {\"b\": null}]}, {\"a\": [1, {\"b\": 2}]}]");
+
+		Assert.assertSame("Equal nested objects not shared", nested.get(0), nested.get(1));
+		Assert.assertNotSame("Different nested objects shared", nested.get(0), nested.get(2));
+		Assert.assertSame("Equal members not shared", ((List) ((Map) nested.get(0)).get("a")).get(0), ((List) ((Map) nested.get(2)).get("a")).get(0));
+
+		List other = JSON.global.cparse("[{\"currency\":\"USD\"}, {\"currency\":\"USD\"}]");
+
+		Assert.assertNotSame("Shared without sharing enabled", other.get(0), other.get(1));
+	}
+
 	@Test
 	public void primitiveArray() {
 		String s = "[0, 1, 2, 3, 4, 5]";
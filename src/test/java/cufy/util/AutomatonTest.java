@@ -0,0 +1,44 @@
+package cufy.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("JavaDoc")
+public class AutomatonTest {
+	@Test
+	public void endsWith() {
+		Automaton automaton = new Automaton("he", "she", "his", "hers");
+
+		int state = Automaton.ROOT;
+		for (char c : "ushe".toCharArray())
+			state = automaton.next(state, c);
+
+		Assert.assertTrue("'ushe' ends with 'she'", automaton.endsWith(state, 1));
+		Assert.assertTrue("'ushe' ends with 'he'", automaton.endsWith(state, 0));
+		Assert.assertFalse("'ushe' doesn't end with 'his'", automaton.endsWith(state, 2));
+
+		state = automaton.next(state, 'r');
+		state = automaton.next(state, 's');
+		Assert.assertTrue("'ushers' ends with 'hers'", automaton.endsWith(state, 3));
+		Assert.assertFalse("'ushers' doesn't end with 'she'", automaton.endsWith(state, 1));
+
+		state = automaton.next(state, '؀');
+		Assert.assertEquals("Unknown characters resets the automaton", Automaton.ROOT, state);
+	}
+
+	@Test
+	public void trie() {
+		Automaton automaton = new Automaton("true", "tree");
+
+		int state = automaton.child(Automaton.ROOT, 't');
+		state = automaton.child(state, 'r');
+		Assert.assertEquals("Wrong depth", 2, automaton.depth(state));
+		Assert.assertEquals("'trx' isn't a prefix", -1, automaton.child(state, 'x'));
+
+		state = automaton.child(state, 'u');
+		Assert.assertFalse("'tru' isn't a pattern", automaton.terminal(state));
+
+		state = automaton.child(state, 'e');
+		Assert.assertTrue("'true' is a pattern", automaton.terminal(state));
+	}
+}
@@ -0,0 +1,70 @@
+package cufy.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@SuppressWarnings("JavaDoc")
+public class OverlayMapTest {
+	@Test
+	public void fork() {
+		OverlayMap<String, Integer> parent = new OverlayMap<>();
+		parent.put("a", 1);
+		parent.put("b", 2);
+
+		OverlayMap<String, Integer> child = parent.fork();
+		child.put("c", 3);
+		child.remove("a");
+		parent.put("b", 20);
+
+		Assert.assertEquals("Child affected by the parent", Integer.valueOf(2), child.get("b"));
+		Assert.assertFalse("Removal not applied", child.containsKey("a"));
+		Assert.assertTrue("Parent affected by the child", parent.containsKey("a"));
+		Assert.assertFalse("Parent affected by the child", parent.containsKey("c"));
+
+		Map<String, Integer> expected = new HashMap<>();
+		expected.put("b", 2);
+		expected.put("c", 3);
+		Assert.assertEquals("Wrong mappings", expected, child);
+		Assert.assertEquals("Wrong size", 2, child.size());
+
+		child.put("a", 10);
+		Assert.assertEquals("Mapping not restored", Integer.valueOf(10), child.get("a"));
+		Assert.assertEquals("Parent affected by the child", Integer.valueOf(1), parent.get("a"));
+	}
+
+	@Test
+	public void freeze() {
+		OverlayMap<String, Integer> map = new OverlayMap<>();
+		map.put("a", 1);
+		map.freeze();
+		map.put("b", 2);
+		map.remove("a");
+		map.freeze();
+
+		Assert.assertEquals("Wrong size", 1, map.size());
+		Assert.assertFalse("Wrong emptiness", map.isEmpty());
+		Assert.assertEquals("Mappings changed", Collections.singletonMap("b", 2), map);
+		Assert.assertEquals("Wrong fork", map, map.fork());
+
+		map.remove("b");
+		Assert.assertTrue("Wrong emptiness", map.isEmpty());
+	}
+
+	@Test
+	public void layers() {
+		OverlayMap<Integer, Integer> map = new OverlayMap<>();
+
+		for (int i = 0; i < OverlayMap.MAX_LAYERS * 3; i++) {
+			map.put(i, i);
+			map = map.fork();
+		}
+
+		Assert.assertEquals("Wrong size", OverlayMap.MAX_LAYERS * 3, map.size());
+		for (int i = 0; i < OverlayMap.MAX_LAYERS * 3; i++)
+			Assert.assertEquals("Wrong mapping", Integer.valueOf(i), map.get(i));
+	}
+}
@@ -0,0 +1,29 @@
+package cufy.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+@SuppressWarnings("JavaDoc")
+public class PrefixMatcherTest {
+	@Test
+	public void matches() throws IOException {
+		PrefixMatcher prefix = new PrefixMatcher(true, false, false, "[", "{");
+
+		Assert.assertTrue("Should match", prefix.matches(new StringReader("  [1, 2]")));
+		Assert.assertFalse("Should not match", prefix.matches(new StringReader("  1, 2]")));
+		Assert.assertFalse("Should not match", prefix.matches(new StringReader("   ")));
+		Assert.assertTrue("Should match", prefix.matches("x {}", 1, 4));
+
+		PrefixMatcher full = new PrefixMatcher(true, true, true, "true", "false");
+
+		Assert.assertTrue("Should match", full.matches(new StringReader(" TRUE \n")));
+		Assert.assertTrue("Should match", full.matches("False"));
+		Assert.assertFalse("Should not match", full.matches("trueish"));
+		Assert.assertFalse("Should not match", full.matches("tr"));
+
+		Assert.assertTrue("Empty strings matches anything", new PrefixMatcher(false, true, false, "").matches("abc"));
+	}
+}
@@ -51,4 +51,17 @@ public class ReaderzTest {
 
 		//trim & fullRead & ignoreCase
 	}
+
+	@Test
+	public void isRemainingEquals_cached() throws IOException {
+		String[] strings = {"AbC"};
+
+		Assert.assertTrue("Should equals", Readerz.isRemainingEquals(new StringReader("AbCdEf"), false, false, false, strings));
+
+		//the cached matcher is keyed by the arguments. Not by the array
+		strings[0] = "X";
+		Assert.assertFalse("Stale matcher", Readerz.isRemainingEquals(new StringReader("AbCdEf"), false, false, false, strings));
+		Assert.assertTrue("Should equals", Readerz.isRemainingEquals(new StringReader("AbCdEf"), false, false, true, "abc"));
+		Assert.assertFalse("Flags ignored", Readerz.isRemainingEquals(new StringReader("AbCdEf"), false, false, false, "abc"));
+	}
 }
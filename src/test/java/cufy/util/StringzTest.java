@@ -21,6 +21,20 @@ public class StringzTest {
 		Assert.assertNull("Shouldn't detected anything", Stringz.any(s, "Ra", "Ka", "e3", "po"));
 	}
 
+	@Test
+	public void compiled() {
+		String s = "Sulaiman";
+
+		Assert.assertNull("Contains not detected", Stringz.all(s, new Automaton("Su", "ma", "n", "ai", "im")));
+		Assert.assertEquals("Missing query not detected", "Rx", Stringz.all(s, new Automaton("Su", "ma", "Rx", "er")));
+		Assert.assertEquals("Query not detected", "la", Stringz.any(s, new Automaton("la", "ma", "Cha")));
+		Assert.assertNull("Shouldn't detected anything", Stringz.any(s, new Automaton("Ra", "Ka", "e3", "po")));
+		Assert.assertEquals("Wrong suffix", "man", Stringz.endsWith(s, new Automaton("x", "man", "n")));
+		Assert.assertNull("Shouldn't detected anything", Stringz.endsWith(s, new Automaton("ma", "Sulaimanx")));
+		Assert.assertEquals("Wrong prefix", "Sul", Stringz.startsWith(s, new Automaton("Sulx", "Sul", "S", "u")));
+		Assert.assertNull("Shouldn't detected anything", Stringz.startsWith(s, new Automaton("u", "SulX")));
+	}
+
 	@Test
 	public void repeat() {
 		String str = Stringz.repeat("abc", " ", 3);
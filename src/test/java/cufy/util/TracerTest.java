@@ -0,0 +1,34 @@
+package cufy.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+@SuppressWarnings("JavaDoc")
+public class TracerTest {
+	@Test
+	public void snapshot() throws NoSuchMethodException {
+		Method cheap = Object.class.getMethod("hashCode");
+		Method expensive = Object.class.getMethod("toString");
+		Tracer tracer = new Tracer();
+
+		tracer.record(cheap, String.class, 10, Tracer.units("abc"));
+		tracer.record(cheap, String.class, 15, Tracer.units("de"));
+		tracer.record(expensive, List.class, 100, Tracer.units(Arrays.asList(1, 2, 3, 4)));
+
+		List<Tracer.Record> records = tracer.snapshot();
+
+		Assert.assertEquals("Wrong records count", 2, records.size());
+		Assert.assertSame("Most expensive should be first", expensive, records.get(0).method);
+		Assert.assertEquals("Wrong units", 4, records.get(0).units);
+		Assert.assertEquals("Wrong calls", 2, records.get(1).calls);
+		Assert.assertEquals("Wrong time", 25, records.get(1).nanos);
+		Assert.assertEquals("Wrong units", 5, records.get(1).units);
+
+		tracer.reset();
+		Assert.assertTrue("Not reset", tracer.snapshot().isEmpty());
+	}
+}